@@ -0,0 +1,14 @@
+package com.ysminfosolution.realestate.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache names are pre-declared in spring.cache.cache-names so Micrometer binds their
+// hit/miss/eviction meters at startup (caches created lazily are never bound).
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROPERTY_OPTIONS = "propertyOptions";
+
+}
@@ -0,0 +1,47 @@
+package com.ysminfosolution.realestate.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Hibernate's ddl-auto=update only knows plain B-tree indexes declared on the entities.
+// * Postgres specific objects (extensions, GIN/expression indexes) are created here, idempotently, once the app is up.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabaseIndexInitializer {
+
+    private static final List<String> STATEMENTS = List.of(
+            // ^ Lead search (EnquiryRepository.searchLeads)
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_enquiries_lead_name_trgm ON enquiries USING gin (lower(lead_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_enquiries_lead_email_trgm ON enquiries USING gin (lower(lead_email) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_enquiries_lead_city_trgm ON enquiries USING gin (lower(lead_city) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_enquiries_lead_mobile_trgm ON enquiries USING gin (lead_mobile_number gin_trgm_ops)",
+            // ^ One task per follow-up (TaskRepository upserts). ddl-auto cannot add the constraint while older
+            // ^ check-then-insert duplicates exist, so keep the oldest task of each follow-up and add it here
+            "DELETE FROM task t USING task d WHERE t.follow_up_id = d.follow_up_id"
+                    + " AND (t.created_at, t.task_id) > (d.created_at, d.task_id)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS uk_task_follow_up ON task (follow_up_id)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                // ! Not fatal: the app still works, only the affected queries fall back to slower plans
+                log.warn("Could not apply database statement [{}]: {}", statement, e.getMessage());
+            }
+        }
+        log.info("Database indexes verified");
+    }
+}
@@ -0,0 +1,48 @@
+package com.ysminfosolution.realestate.controller;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ysminfosolution.realestate.dto.FunnelAnalyticsDTO;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.EnquiryAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@Validated
+@RequestMapping("/analytics")
+@Slf4j
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+public class AnalyticsController {
+
+    private final EnquiryAnalyticsService enquiryAnalyticsService;
+
+    // ~ Conversion funnel and median days-in-status per project and reference, from the daily rollups
+    @GetMapping("/funnel")
+    public ResponseEntity<FunnelAnalyticsDTO> getFunnel(
+            @RequestParam(required = false) UUID projectId,
+            @RequestParam(required = false) String reference,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [GET] /analytics/funnel | Method: getFunnel");
+
+        return ResponseEntity.ok(enquiryAnalyticsService.getFunnel(appUserDetails, projectId, reference, from, to));
+    }
+
+}
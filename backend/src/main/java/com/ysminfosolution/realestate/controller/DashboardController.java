@@ -8,11 +8,14 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ysminfosolution.realestate.dto.DashboardProjectDetailedResponseDTO;
 import com.ysminfosolution.realestate.dto.DashboardResponseDTO;
+import com.ysminfosolution.realestate.model.DataVersion.Scope;
 import com.ysminfosolution.realestate.security.AppUserDetails;
 import com.ysminfosolution.realestate.service.DashboardService;
+import com.ysminfosolution.realestate.service.DataVersionService;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -32,9 +35,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
     
     @GetMapping("")
-    public ResponseEntity<DashboardResponseDTO> getDashboardData(@AuthenticationPrincipal AppUserDetails appUserDetails) {
+    public ResponseEntity<DashboardResponseDTO> getDashboardData(@AuthenticationPrincipal AppUserDetails appUserDetails,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.currentETag(appUserDetails, Scope.DASHBOARD))) {
+            return null;
+        }
         return ResponseEntity.ok(dashboardService.getDashboardData(appUserDetails));
     }
 
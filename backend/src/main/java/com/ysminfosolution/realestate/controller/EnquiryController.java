@@ -1,8 +1,15 @@
 package com.ysminfosolution.realestate.controller;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,15 +21,32 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusDTO;
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusReportDTO;
+import com.ysminfosolution.realestate.dto.ChangeSetDTO;
+import com.ysminfosolution.realestate.dto.CursorPageDTO;
 import com.ysminfosolution.realestate.dto.EnquiryBasicInfoDTO;
+import com.ysminfosolution.realestate.dto.EnquiryImportReportDTO;
 import com.ysminfosolution.realestate.dto.EnquiryResponseDTO;
+import com.ysminfosolution.realestate.dto.EnquirySearchResultDTO;
+import com.ysminfosolution.realestate.dto.FlatMatchDTO;
+import com.ysminfosolution.realestate.dto.LeadMatchDTO;
 import com.ysminfosolution.realestate.dto.NewEnquiryDTO;
 import com.ysminfosolution.realestate.dto.UpdateEnquiryDTO;
 import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.EnquiryPropertyOptions;
+import com.ysminfosolution.realestate.model.DataVersion.Scope;
+import com.ysminfosolution.realestate.model.Enquiry.DuplicatePolicy;
 import com.ysminfosolution.realestate.model.Enquiry.Status;
 import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.DataVersionService;
+import com.ysminfosolution.realestate.service.EnquiryExportService;
+import com.ysminfosolution.realestate.service.EnquiryImportService;
 import com.ysminfosolution.realestate.service.EnquiryService;
+import com.ysminfosolution.realestate.service.InventoryMatchingService;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -47,34 +71,118 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class EnquiryController {
 
     private final EnquiryService enquiryService;
+    private final EnquiryExportService enquiryExportService;
+    private final EnquiryImportService enquiryImportService;
+    private final DataVersionService dataVersionService;
+    private final InventoryMatchingService inventoryMatchingService;
 
     @GetMapping("")
-    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiries(@AuthenticationPrincipal AppUserDetails appUserDetails) {
+    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiries(@AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(required = false) String budgetFrom,
+            @RequestParam(required = false) String budgetTo,
+            WebRequest webRequest) {
 
         log.info("\n");
         log.info("Path: [GET] /enquiries | Method: getAllEnquiries");
 
-        return enquiryService.getAllEnquiries(appUserDetails);
+        // ^ Spring answers 304 and sets the ETag header itself
+        if (webRequest.checkNotModified(dataVersionService.currentETag(appUserDetails, Scope.ENQUIRIES, budgetFrom, budgetTo))) {
+            return null;
+        }
+
+        return enquiryService.getAllEnquiries(appUserDetails, budgetFrom, budgetTo);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<EnquiryResponseDTO>> getEnquiryPage(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(required = false) UUID projectId,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String reference,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("\n");
+        log.info("Path: [GET] /enquiries/page | Method: getEnquiryPage");
+
+        return enquiryService.getEnquiryPage(appUserDetails, projectId, status, reference, createdFrom, createdTo,
+                cursor, size);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeSetDTO<EnquiryResponseDTO>> getEnquiryChanges(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("\n");
+        log.info("Path: [GET] /enquiries/changes | Method: getEnquiryChanges");
+
+        return enquiryService.getEnquiryChanges(appUserDetails, since, cursor, size);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EnquirySearchResultDTO>> searchEnquiries(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam @NotBlank String q,
+            @RequestParam(required = false) Integer limit) {
+
+        log.info("\n");
+        log.info("Path: [GET] /enquiries/search | Method: searchEnquiries");
+
+        return enquiryService.searchEnquiries(appUserDetails, q, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEnquiries(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(defaultValue = "CSV") EnquiryExportService.Format format) {
+
+        log.info("\n");
+        log.info("Path: [GET] /enquiries/export | Method: exportEnquiries");
+
+        String filename = "enquiries." + format.getExtension();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(format.getMediaType())
+                .body(enquiryExportService.exportEnquiries(appUserDetails, format));
     }
 
     @GetMapping("/basicinfolist")
-    public ResponseEntity<Set<EnquiryBasicInfoDTO>> getListOfEnquiryBasicInfo(@AuthenticationPrincipal AppUserDetails appUserDetails) {
+    public ResponseEntity<Set<EnquiryBasicInfoDTO>> getListOfEnquiryBasicInfo(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
      
         log.info("\n");
         log.info("Path: [GET] /enquiries/basicinfolist | Method: getListOfEnquiryBasicInfo");
 
-        return enquiryService.getListOfEnquiryBasicInfo(appUserDetails);
+        return enquiryService.getListOfEnquiryBasicInfo(appUserDetails, status, createdFrom, createdTo);
         
     }
     
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiriesForProject(@PathVariable @NotNull UUID projectId, @AuthenticationPrincipal AppUserDetails appUserDetails) {
+    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiriesForProject(@PathVariable @NotNull UUID projectId, @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(required = false) String budgetFrom,
+            @RequestParam(required = false) String budgetTo,
+            WebRequest webRequest) {
 
         log.info("\n");
         log.info("Path: [GET] /enquiries/project/{projectId} | Method: getAllEnquiriesForProject");
 
-        return enquiryService.getAllEnquiriesForProject(projectId, appUserDetails);
+        if (webRequest.checkNotModified(dataVersionService.currentETag(appUserDetails, Scope.ENQUIRIES, projectId, budgetFrom,
+                budgetTo))) {
+            return null;
+        }
+
+        return enquiryService.getAllEnquiriesForProject(projectId, budgetFrom, budgetTo, appUserDetails);
     }
     
     @GetMapping("/{enquiryId}")
@@ -86,6 +194,28 @@ public class EnquiryController {
         return enquiryService.getById(enquiryId, appUserDetails);
     }
   
+    @GetMapping("/{enquiryId}/matchingFlats")
+    public ResponseEntity<List<FlatMatchDTO>> getMatchingFlats(@PathVariable @NotNull UUID enquiryId,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [GET] /enquiries/{enquiryId}/matchingFlats | Method: getMatchingFlats");
+
+        return ResponseEntity.ok(inventoryMatchingService.getMatchingFlats(enquiryId, limit, appUserDetails));
+    }
+
+    @GetMapping("/matchingLeads/forFlat/{propertyId}")
+    public ResponseEntity<List<LeadMatchDTO>> getMatchingLeadsForFlat(@PathVariable @NotNull UUID propertyId,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [GET] /enquiries/matchingLeads/forFlat/{propertyId} | Method: getMatchingLeadsForFlat");
+
+        return ResponseEntity.ok(inventoryMatchingService.getMatchingLeads(propertyId, limit, appUserDetails));
+    }
+
     @GetMapping("/propertyOptions/forProject/{projectId}")
     public ResponseEntity<EnquiryPropertyOptions> getAllPropertyOptionsForProject(@PathVariable @NotNull UUID projectId, @AuthenticationPrincipal AppUserDetails appUserDetails) {
 
@@ -97,12 +227,25 @@ public class EnquiryController {
     
 
     @PostMapping("")
-    public ResponseEntity<EnquiryResponseDTO> createEnquiry(@RequestBody @NotNull @Valid NewEnquiryDTO newEnquiryDTO, @AuthenticationPrincipal AppUserDetails appUserDetails) {
+    public ResponseEntity<EnquiryResponseDTO> createEnquiry(@RequestBody @NotNull @Valid NewEnquiryDTO newEnquiryDTO,
+            @RequestParam(defaultValue = "ALLOW") DuplicatePolicy duplicatePolicy,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
 
         log.info("\n");
         log.info("Path: [POST] /enquiries | Method: createEnquiry");
 
-        return enquiryService.createNewEnquiry(newEnquiryDTO, appUserDetails);
+        return enquiryService.createNewEnquiry(newEnquiryDTO, duplicatePolicy, appUserDetails);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EnquiryImportReportDTO> importEnquiries(@RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "ALLOW") DuplicatePolicy duplicatePolicy,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [POST] /enquiries/import | Method: importEnquiries");
+
+        return ResponseEntity.ok(enquiryImportService.importEnquiries(file, duplicatePolicy, appUserDetails));
     }
 
     @PutMapping("/{enquiryId}")
@@ -132,4 +275,15 @@ public class EnquiryController {
         return enquiryService.changeEnquiryStatus(enquiryId, status, appUserDetails);
     }
 
+    @PostMapping("/status/batch")
+    public ResponseEntity<BatchEnquiryStatusReportDTO> changeEnquiryStatusBatch(
+            @RequestBody @Valid BatchEnquiryStatusDTO batchDTO,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [POST] /enquiries/status/batch | Method: changeEnquiryStatusBatch");
+
+        return enquiryService.changeEnquiryStatusBatch(batchDTO, appUserDetails);
+    }
+
 }
@@ -1,9 +1,14 @@
 package com.ysminfosolution.realestate.controller;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -11,12 +16,23 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ysminfosolution.realestate.dto.ChangeSetDTO;
+import com.ysminfosolution.realestate.dto.CursorPageDTO;
+import com.ysminfosolution.realestate.dto.FollowUpAgendaDTO;
 import com.ysminfosolution.realestate.dto.FollowUpBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.FollowUpNodeRequestDTO;
+import com.ysminfosolution.realestate.dto.FollowUpNodeResponseDTO;
 import com.ysminfosolution.realestate.dto.FollowUpResponseDTO;
+import com.ysminfosolution.realestate.model.DataVersion.Scope;
 import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.DataVersionService;
+import com.ysminfosolution.realestate.service.EnquiryExportService;
+import com.ysminfosolution.realestate.service.FollowUpAgendaService;
 import com.ysminfosolution.realestate.service.FollowUpService;
+import com.ysminfosolution.realestate.service.FollowUpStreamService;
 
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -38,19 +54,83 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class FollowUpController {
 
     private final FollowUpService followUpService;
+    private final EnquiryExportService enquiryExportService;
+    private final DataVersionService dataVersionService;
+    private final FollowUpStreamService followUpStreamService;
+    private final FollowUpAgendaService followUpAgendaService;
 
     @GetMapping("/tasks")
     public ResponseEntity<Set<FollowUpBasicInfoDTO>> getAllRemainingFollowUpsWithinRange(
             @AuthenticationPrincipal AppUserDetails appUserDetails, 
             @RequestParam(required = false) LocalDate fromDate,
-            @RequestParam(required = false) LocalDate toDate) {
+            @RequestParam(required = false) LocalDate toDate,
+            WebRequest webRequest) {
 
         log.info("\n");
         log.info("Path: [GET] /followUps/tasks | Method: getAllRemainingFollowUps");
 
+        // ~ Today's date is part of the tag since the default range moves at midnight
+        String eTag = dataVersionService.currentETag(appUserDetails, Scope.FOLLOW_UPS, fromDate, toDate, LocalDate.now());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         return followUpService.getAllRemainingFollowUpsWithinRange(appUserDetails, fromDate, toDate);
     }
 
+    @GetMapping("/agenda")
+    public ResponseEntity<FollowUpAgendaDTO> getAgenda(@AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [GET] /followUps/agenda | Method: getAgenda");
+
+        return ResponseEntity.ok(followUpAgendaService.getAgenda(appUserDetails));
+    }
+
+    @GetMapping("/tasks/page")
+    public ResponseEntity<CursorPageDTO<FollowUpBasicInfoDTO>> getRemainingFollowUpPage(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("\n");
+        log.info("Path: [GET] /followUps/tasks/page | Method: getRemainingFollowUpPage");
+
+        return followUpService.getRemainingFollowUpPage(appUserDetails, fromDate, toDate, cursor, size);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeSetDTO<FollowUpResponseDTO>> getFollowUpChanges(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("\n");
+        log.info("Path: [GET] /followUps/changes | Method: getFollowUpChanges");
+
+        return followUpService.getFollowUpChanges(appUserDetails, since, cursor, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFollowUps(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            @RequestParam(defaultValue = "CSV") EnquiryExportService.Format format) {
+
+        log.info("\n");
+        log.info("Path: [GET] /followUps/export | Method: exportFollowUps");
+
+        String filename = "follow-ups." + format.getExtension();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(format.getMediaType())
+                .body(enquiryExportService.exportFollowUps(appUserDetails, format));
+    }
+
     @GetMapping("/project/{projectId}")
     public ResponseEntity<Set<FollowUpResponseDTO>> getAllFollowUpsForProject(@PathVariable @NotNull UUID projectId,
             @AuthenticationPrincipal AppUserDetails appUserDetails) {
@@ -82,6 +162,19 @@ public class FollowUpController {
         return followUpService.getById(followUpId, appUserDetails);
     }
 
+    @GetMapping("/{followUpId}/nodes")
+    public ResponseEntity<CursorPageDTO<FollowUpNodeResponseDTO>> getFollowUpNodePage(
+            @PathVariable @NotNull UUID followUpId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [GET] /followUps/{followUpId}/nodes | Method: getFollowUpNodePage");
+
+        return followUpService.getFollowUpNodePage(followUpId, cursor, size, appUserDetails);
+    }
+
     @PostMapping("/{followUpId}/node")
     public ResponseEntity<String> addNodeToFollowUp(@PathVariable @NotNull UUID followUpId,
             @RequestBody FollowUpNodeRequestDTO nodeRequestDTO,
@@ -106,12 +199,20 @@ public class FollowUpController {
     }
 
     @GetMapping("")
-    public ResponseEntity<Set<FollowUpResponseDTO>> getAllFollowUps(
-            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+    public ResponseEntity<StreamingResponseBody> getAllFollowUps(
+            @AuthenticationPrincipal AppUserDetails appUserDetails,
+            WebRequest webRequest) {
         log.info("\n");
         log.info("Path: [POST] /followUps | Method: getAllFollowUps");
 
-        return followUpService.getAllFollowUps(appUserDetails);
+        if (webRequest.checkNotModified(dataVersionService.currentETag(appUserDetails, Scope.FOLLOW_UPS))) {
+            return null;
+        }
+
+        // ~ Same JSON array as before, written chunk by chunk instead of being built in memory first
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(followUpStreamService.streamAllFollowUps(appUserDetails));
     }
 
 }
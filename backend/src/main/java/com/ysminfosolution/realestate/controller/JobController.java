@@ -0,0 +1,44 @@
+package com.ysminfosolution.realestate.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ysminfosolution.realestate.dto.BackgroundJobDTO;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.BackgroundJobService;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@Validated
+@RequestMapping("/jobs")
+@Slf4j
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+public class JobController {
+
+    private final BackgroundJobService backgroundJobService;
+
+    // ~ Status of a queued job; downloadUrl is set once a job with a file result has succeeded
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BackgroundJobDTO> getJob(
+            @PathVariable @NotNull UUID jobId,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [GET] /jobs/{jobId} | Method: getJob");
+
+        return ResponseEntity.ok(backgroundJobService.getJob(jobId, appUserDetails));
+    }
+
+}
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ysminfosolution.realestate.dto.BackgroundJobDTO;
 import com.ysminfosolution.realestate.dto.ProjectDetailPdfPolicyResponse;
 import com.ysminfosolution.realestate.dto.ProjectDetailPdfRequest;
 import com.ysminfosolution.realestate.security.AppUserDetails;
@@ -62,6 +63,20 @@ public class ProjectDetailPdfController {
                 .body(pdfBytes);
     }
 
+    // ~ Same PDF, generated by a background job; poll GET /jobs/{jobId} for the download link
+    @PostMapping("/{projectId}/generate-detail-pdf/{policyId}/jobs")
+    public ResponseEntity<BackgroundJobDTO> requestProjectDetailPdf(
+            @PathVariable @NotNull UUID projectId,
+            @PathVariable @NotNull UUID policyId,
+            @AuthenticationPrincipal AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Path: [POST] /projects/{projectId}/generate-detail-pdf/{policyId}/jobs | Method: requestProjectDetailPdf");
+
+        return ResponseEntity.accepted()
+                .body(projectDetailPdfService.requestProjectDetailPdf(projectId, policyId, appUserDetails));
+    }
+
     @PostMapping("/{projectId}/detail-pdf-policies")
     public ResponseEntity<ProjectDetailPdfPolicyResponse> createPolicy(
             @PathVariable @NotNull UUID projectId,
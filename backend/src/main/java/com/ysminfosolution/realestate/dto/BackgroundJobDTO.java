@@ -0,0 +1,20 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.BackgroundJob;
+
+public record BackgroundJobDTO(
+        UUID jobId,
+        BackgroundJob.Type jobType,
+        BackgroundJob.Status status,
+        int attempts,
+        int maxAttempts,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        LocalDateTime nextAttemptAt,
+        String error,
+        String downloadUrl) {
+}
@@ -0,0 +1,23 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record BatchEnquiryStatusDTO(
+
+    @NotEmpty(message = "Atleast one enquiry is required")
+    @Size(max = 200, message = "At most 200 enquiries can be updated at once")
+    List<@NotNull UUID> enquiryIds,
+
+    @NotNull
+    Status status
+
+) {
+
+}
@@ -0,0 +1,10 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.UUID;
+
+public record BatchEnquiryStatusErrorDTO(
+    UUID enquiryId,
+    String message
+) {
+
+}
@@ -0,0 +1,13 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.List;
+
+public record BatchEnquiryStatusReportDTO(
+    int requested,
+    int updated,
+    int unchanged,
+    int failed,
+    List<BatchEnquiryStatusErrorDTO> errors
+) {
+
+}
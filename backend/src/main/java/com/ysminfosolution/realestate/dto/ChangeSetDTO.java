@@ -0,0 +1,17 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// * One page of a delta sync. "deleted" is the tombstone stream of soft deleted ids, "projectIds" the projects
+// * the caller may currently hold data for (anything outside it should be dropped by the client).
+public record ChangeSetDTO<T>(
+    List<T> changed,
+    List<UUID> deleted,
+    Set<UUID> projectIds,
+    String nextCursor,
+    boolean hasMore
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasMore
+) {
+
+}
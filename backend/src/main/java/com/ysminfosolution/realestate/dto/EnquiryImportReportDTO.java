@@ -0,0 +1,12 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.List;
+
+public record EnquiryImportReportDTO(
+    int totalRows,
+    int importedRows,
+    int failedRows,
+    List<EnquiryImportRowErrorDTO> errors
+) {
+
+}
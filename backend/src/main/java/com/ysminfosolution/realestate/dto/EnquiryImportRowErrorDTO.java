@@ -0,0 +1,8 @@
+package com.ysminfosolution.realestate.dto;
+
+public record EnquiryImportRowErrorDTO(
+    int row,
+    String message
+) {
+
+}
@@ -1,5 +1,6 @@
 package com.ysminfosolution.realestate.dto;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.ysminfosolution.realestate.model.Enquiry.Status;
@@ -24,7 +25,8 @@ public record EnquiryResponseDTO(
     String leadOccupation,
     String leadCompany,
     Status status,
-    String remark
+    String remark,
+    LocalDateTime createdAt
 ) {
 
 }
@@ -0,0 +1,19 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+public record EnquirySearchResultDTO(
+    UUID enquiryId,
+    UUID projectId,
+    String projectName,
+    String leadName,
+    String leadMobileNumber,
+    String leadEmail,
+    String leadCity,
+    Status status,
+    Double score
+) {
+
+}
@@ -0,0 +1,18 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
+
+public record FlatMatchDTO(
+    UUID propertyId,
+    String propertyNumber,
+    String wingName,
+    Short floorNo,
+    PropertyType propertyType,
+    String property,
+    Double area,
+    Double areaDifference
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record FollowUpAgendaDTO(
+    LocalDate from,
+    LocalDate to,
+    List<FollowUpAgendaDayDTO> days
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record FollowUpAgendaDayDTO(
+    LocalDate date,
+    List<FollowUpBasicInfoDTO> followUps
+) {
+
+}
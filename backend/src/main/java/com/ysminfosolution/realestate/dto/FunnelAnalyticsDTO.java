@@ -0,0 +1,13 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record FunnelAnalyticsDTO(
+    LocalDate from,
+    LocalDate to,
+    FunnelSegmentDTO total,
+    List<FunnelSegmentDTO> segments
+) {
+
+}
@@ -0,0 +1,22 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+// ~ projectId and reference are null on the overall total. entered/exited count movements inside the window;
+// ~ cohortByStatus is where the enquiries created in the window stand now, and the rates are taken from it
+public record FunnelSegmentDTO(
+    UUID projectId,
+    String reference,
+    long created,
+    Map<Status, Long> entered,
+    Map<Status, Long> exited,
+    Map<Status, Long> cohortByStatus,
+    Double bookingRate,
+    Double cancellationRate,
+    Map<Status, Double> medianDaysInStatus
+) {
+
+}
@@ -0,0 +1,19 @@
+package com.ysminfosolution.realestate.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+public record LeadMatchDTO(
+    UUID enquiryId,
+    String leadName,
+    String leadMobileNumber,
+    Status status,
+    String property,
+    Double area,
+    Double areaDifference,
+    LocalDateTime createdAt
+) {
+
+}
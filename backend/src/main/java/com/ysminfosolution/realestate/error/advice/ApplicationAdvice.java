@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.ysminfosolution.realestate.error.exception.ApiException;
+import com.ysminfosolution.realestate.error.exception.DuplicateEnquiryException;
 
 import java.net.URI;
 import java.time.Instant;
@@ -29,6 +30,15 @@ public class ApplicationAdvice {
         return pd;
     }
 
+    @ExceptionHandler(DuplicateEnquiryException.class)
+    public ProblemDetail handleDuplicateEnquiryException(DuplicateEnquiryException ex) {
+
+        ProblemDetail pd = handleApiException(ex);
+        pd.setProperty("existingEnquiryIds", ex.getExistingEnquiryIds());
+
+        return pd;
+    }
+
     // TODO: Uncomment in production
     // @ExceptionHandler(Exception.class)
     // public ProblemDetail handleUnexpected(Exception ex) {
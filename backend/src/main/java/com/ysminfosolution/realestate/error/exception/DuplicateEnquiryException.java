@@ -0,0 +1,17 @@
+package com.ysminfosolution.realestate.error.exception;
+
+import java.util.List;
+import java.util.UUID;
+
+public class DuplicateEnquiryException extends ConflictException {
+    private final List<UUID> existingEnquiryIds;
+
+    public DuplicateEnquiryException(List<UUID> existingEnquiryIds) {
+        super("An enquiry with the same mobile number or email already exists");
+        this.existingEnquiryIds = existingEnquiryIds;
+    }
+
+    public List<UUID> getExistingEnquiryIds() {
+        return existingEnquiryIds;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Heavy work queued by a request (BackgroundJobService) and executed off the request thread by BackgroundJobWorker.
+// ^ A RUNNING job whose lease (locked_until) has passed belongs to a dead worker and is claimed again
+@Table(
+    name = "background_job",
+    indexes = {
+        @Index(name = "idx_background_job_claim", columnList = "job_type, status, run_after")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class BackgroundJob {
+
+    public enum Type {
+        PROJECT_DETAIL_PDF,
+        PROJECT_DIRECTORY_CLEANUP
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "job_id", nullable = false, updatable = false)
+    private UUID jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 40)
+    private Type jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "requested_by", nullable = false)
+    private String requestedBy;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // ^ S3 key of the produced file, for jobs that have one
+    @Column(name = "result_key", nullable = true)
+    private String resultKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "run_after", nullable = false)
+    private LocalDateTime runAfter;
+
+    @Column(name = "locked_by", nullable = true, length = 200)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = true)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", nullable = true, length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at", nullable = true)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = true)
+    private LocalDateTime finishedAt;
+
+}
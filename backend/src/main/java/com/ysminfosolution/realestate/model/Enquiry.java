@@ -15,6 +15,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -23,7 +24,21 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Table(name = "enquiries")
+@Table(
+    name = "enquiries",
+    indexes = {
+        // ^ Keyset pagination on (createdAt, enquiryId), org wide and per project
+        @Index(name = "idx_enquiries_created_at_id", columnList = "created_at, enquiry_id"),
+        @Index(name = "idx_enquiries_project_created_at_id", columnList = "project_id, created_at, enquiry_id"),
+        // ^ Duplicate lead lookups (LeadFingerprint)
+        @Index(name = "idx_enquiries_lead_mobile_fingerprint", columnList = "lead_mobile_fingerprint"),
+        @Index(name = "idx_enquiries_lead_email_fingerprint", columnList = "lead_email_fingerprint"),
+        // ^ Delta sync walks (updatedAt, enquiryId); an empty sync is a single probe past the cursor
+        @Index(name = "idx_enquiries_updated_at_id", columnList = "updated_at, enquiry_id"),
+        // ^ Budget range filters (budgetMin <= to AND budgetMax >= from)
+        @Index(name = "idx_enquiries_project_budget", columnList = "project_id, budget_min, budget_max")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +46,14 @@ import lombok.Setter;
 @Entity
 public class Enquiry {
 
+    // ^ What createNewEnquiry does when the lead's mobile number or email is already known. ALLOW is the default:
+    // ^ repeat buyers and shared family numbers are legitimate, so callers opt into REJECT or MERGE
+    public enum DuplicatePolicy {
+        REJECT,
+        ALLOW,
+        MERGE
+    }
+
     public enum Status {
         ONGOING,
         CANCELLED,
@@ -67,6 +90,14 @@ public class Enquiry {
     @Column(name = "budget", nullable = false)
     private String budget;
 
+    // ^ Rupee range parsed from budget by util.BudgetParser; both null when the text could not be read,
+    // ^ budgetMax alone null for open ended budgets ("above 1 Cr")
+    @Column(name = "budget_min", nullable = true)
+    private Long budgetMin;
+
+    @Column(name = "budget_max", nullable = true)
+    private Long budgetMax;
+
     // & (Newspaper, ADS)
     @Column(name = "reference", nullable = false)
     private String reference;
@@ -98,10 +129,20 @@ public class Enquiry {
     @Column(name = "lead_company", nullable = false)
     private String leadCompany;
 
+    @Column(name = "lead_mobile_fingerprint", nullable = true, length = 15)
+    private String leadMobileFingerprint;
+
+    @Column(name = "lead_email_fingerprint", nullable = true)
+    private String leadEmailFingerprint;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private Status status;
 
+    // ~ When the current status was entered; null on rows older than the analytics, createdAt stands in then
+    @Column(name = "status_changed_at", nullable = true)
+    private LocalDateTime statusChangedAt;
+
     @Column(name = "remark", nullable = true)
     private String remark;
 
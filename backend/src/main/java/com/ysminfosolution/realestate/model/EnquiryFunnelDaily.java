@@ -0,0 +1,71 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Daily rollup of status entries/exits per project and lead source (Enquiry.reference).
+// ^ Incremented by EnquiryAnalyticsService with every transition, read by the funnel endpoint
+@Table(
+    name = "enquiry_funnel_daily",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_enquiry_funnel_daily",
+                columnNames = {"project_id", "day", "reference", "status"})
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class EnquiryFunnelDaily {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "reference", nullable = false)
+    private String reference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // ~ Only the creation entries, a subset of enteredCount on the ONGOING row
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "entered_count", nullable = false)
+    private long enteredCount;
+
+    @Column(name = "exited_count", nullable = false)
+    private long exitedCount;
+
+    // ~ On the row of a creation day: how many of that day's new enquiries are in this status right now.
+    // ~ Moved with every transition, so booking/cancellation rates follow the creation cohort
+    @Column(name = "cohort_count", nullable = false, columnDefinition = "bigint default 0")
+    private long cohortCount;
+
+}
@@ -0,0 +1,64 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Daily histogram of whole days spent in a status before leaving it, per project and lead source.
+// ^ Medians are read off this histogram, so no raw transition rows are scanned at query time
+@Table(
+    name = "enquiry_status_dwell_daily",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_enquiry_status_dwell_daily",
+                columnNames = {"project_id", "day", "reference", "status", "dwell_days"})
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class EnquiryStatusDwellDaily {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    // ~ Day the enquiry left the status
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "reference", nullable = false)
+    private String reference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // ~ Capped at EnquiryAnalyticsService.MAX_DWELL_DAYS, the last bucket means "that long or longer"
+    @Column(name = "dwell_days", nullable = false)
+    private int dwellDays;
+
+    @Column(name = "exit_count", nullable = false)
+    private long exitCount;
+
+}
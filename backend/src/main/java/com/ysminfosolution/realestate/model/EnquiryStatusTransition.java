@@ -0,0 +1,67 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Append-only log of enquiry status changes (fromStatus is null for the creation entry).
+// ^ Written by EnquiryAnalyticsService in the same transaction as the change; the daily rollups are derived from it
+@Table(
+    name = "enquiry_status_transition",
+    indexes = {
+        @Index(name = "idx_enquiry_status_transition_enquiry", columnList = "enquiry_id, transitioned_at"),
+        @Index(name = "idx_enquiry_status_transition_project", columnList = "project_id, transitioned_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class EnquiryStatusTransition {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "enquiry_id", nullable = false)
+    private UUID enquiryId;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "reference", nullable = false)
+    private String reference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = true, length = 20)
+    private Status fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20)
+    private Status toStatus;
+
+    // ~ Time spent in fromStatus, null for the creation entry
+    @Column(name = "seconds_in_previous_status", nullable = true)
+    private Long secondsInPreviousStatus;
+
+    @Column(name = "transitioned_at", nullable = false)
+    private LocalDateTime transitionedAt;
+
+}
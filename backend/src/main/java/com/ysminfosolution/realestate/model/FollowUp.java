@@ -13,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -21,7 +22,15 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Table(name = "follow_up")
+@Table(
+    name = "follow_up",
+    indexes = {
+        // ^ Delta sync walks (updatedAt, followUpId); an empty sync is a single probe past the cursor
+        @Index(name = "idx_follow_up_updated_at_id", columnList = "updated_at, follow_up_id"),
+        // ^ Task list range scans on the next follow-up date
+        @Index(name = "idx_follow_up_next_date", columnList = "follow_up_next_date, is_deleted")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,6 +53,16 @@ public class FollowUp {
     @Column(name = "description", nullable = true, length = 500)
     private String description;
 
+    // ^ Pointer to the newest node, kept by FollowUpNodeService so list views never read follow_up_node
+    @Column(name = "last_node_id", nullable = true)
+    private UUID lastNodeId;
+
+    @Column(name = "last_node_at", nullable = true)
+    private LocalDateTime lastNodeAt;
+
+    @Column(name = "last_node_user_name", nullable = true)
+    private String lastNodeUserName;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,48 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Per-user agenda index: one row per follow-up, owned by the user who added its latest node and keyed by the
+// ^ next follow-up date. Maintained by FollowUpAgendaService whenever a node is added or the date moves
+@Table(
+    name = "follow_up_agenda",
+    indexes = {
+        @Index(name = "idx_follow_up_agenda_user_due", columnList = "user_id, due_date")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class FollowUpAgendaEntry {
+
+    @Id
+    @Column(name = "follow_up_id", nullable = false)
+    private UUID followUpId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,7 +20,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Table(name = "follow_up_node")
+@Table(
+    name = "follow_up_node",
+    indexes = {
+        // ^ Timeline pages walk (followUpDateTime, followUpNodeId) backwards within one follow-up
+        @Index(name = "idx_follow_up_node_timeline", columnList = "follow_up_id, follow_up_date_time, follow_up_node_id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
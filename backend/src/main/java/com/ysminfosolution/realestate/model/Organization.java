@@ -55,5 +55,13 @@ public class Organization {
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted;
 
+    // ^ Minutes after 01:00 server time at which this org's daily tasks are generated, from -60
+    // ^ (00:00) to 1375 (23:55, the last poll). The slot never crosses midnight: the day being generated rolls
+    // ^ over at 00:00, so anything earlier would just run at 00:00. The scheduler clamps rows that predate the
+    // ^ check constraint
+    @Column(name = "task_generation_offset_minutes", nullable = false,
+            columnDefinition = "integer default 0 check (task_generation_offset_minutes between -60 and 1375)")
+    private int taskGenerationOffsetMinutes;
+
     // ! Later we can add Usage parameters like (active, createdDate, noOfRequests) if usage based subscription
 }
@@ -0,0 +1,49 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ One subscriber's completed handling of an outbox event, written in the same transaction as the subscriber's
+// ^ own work so a retried event skips the subscribers that already handled it. Removed once the event is processed.
+// ! No foreign key to outbox_event: the dispatcher holds FOR UPDATE on the event while the delivery commits in
+// ! its own transaction, and the key check would wait on that lock
+@Table(
+    name = "outbox_delivery",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_delivery", columnNames = {"event_id", "subscriber"})
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OutboxDelivery {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "subscriber", nullable = false, length = 100)
+    private String subscriber;
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+
+}
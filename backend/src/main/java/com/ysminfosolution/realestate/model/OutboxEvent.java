@@ -0,0 +1,83 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Domain change written in the same transaction as the change itself (OutboxService),
+// ^ delivered afterwards, in (write_txid, id) order, by OutboxDispatcher
+@Table(
+    name = "outbox_event",
+    indexes = {
+        @Index(name = "idx_outbox_event_processed_at_txid_id", columnList = "processed_at, write_txid, id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OutboxEvent {
+
+    public enum Type {
+        ENQUIRY_CREATED,
+        ENQUIRY_UPDATED,
+        ENQUIRY_STATUS_CHANGED,
+        FOLLOW_UP_NODE_ADDED,
+        FOLLOW_UP_NODE_UPDATED,
+        BOOKING_CREATED,
+        STRUCTURE_CHANGED
+    }
+
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private Type eventType;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "project_id", nullable = true)
+    private UUID projectId;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // ^ Transaction that wrote the row, filled by the database default
+    @Column(name = "write_txid", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default txid_current()")
+    private Long writeTxid;
+
+    @Column(name = "processed_at", nullable = true)
+    private LocalDateTime processedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", nullable = true, length = 1000)
+    private String lastError;
+
+}
@@ -0,0 +1,57 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ One row per @Scheduled method: a lease that keeps the job on a single instance, plus the last run's stats.
+// ^ Written only by ScheduledJobLockService; all timestamps come from the database clock
+@Table(name = "scheduled_job_lock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class ScheduledJobLock {
+
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED
+    }
+
+    @Id
+    @Column(name = "job_name", nullable = false, length = 200)
+    private String jobName;
+
+    @Column(name = "locked_by", nullable = false, length = 200)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_started_at", nullable = true)
+    private LocalDateTime lastStartedAt;
+
+    @Column(name = "last_finished_at", nullable = true)
+    private LocalDateTime lastFinishedAt;
+
+    @Column(name = "last_duration_ms", nullable = true)
+    private Long lastDurationMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_outcome", nullable = true, length = 20)
+    private Outcome lastOutcome;
+
+    @Column(name = "last_error", nullable = true, length = 1000)
+    private String lastError;
+
+}
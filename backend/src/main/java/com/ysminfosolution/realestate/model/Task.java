@@ -12,7 +12,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Table(name = "task")
+// ^ At most one task per follow-up, enforced by uk_task_follow_up; every insert goes through an
+// ^ ON CONFLICT upsert in TaskRepository
+@Table(
+    name = "task",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_follow_up", columnNames = "follow_up_id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,54 @@
+package com.ysminfosolution.realestate.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// ^ Progress of the daily task generation per organization. Advanced in the same transaction as each chunk,
+// ^ so after a crash the next run picks the org up at the phase it was in instead of starting over
+@Table(name = "task_generation_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class TaskGenerationCheckpoint {
+
+    public enum Phase {
+        DELETING,
+        INSERTING,
+        COMPLETED
+    }
+
+    @Id
+    @Column(name = "org_id", nullable = false, updatable = false)
+    private UUID orgId;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false, length = 20)
+    private Phase phase;
+
+    @Column(name = "deleted_count", nullable = false)
+    private int deletedCount;
+
+    @Column(name = "inserted_count", nullable = false)
+    private int insertedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
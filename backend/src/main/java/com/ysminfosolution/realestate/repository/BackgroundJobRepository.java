@@ -0,0 +1,85 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.BackgroundJob;
+
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, UUID> {
+
+    // ~ Serializes claims of one job type across instances until the claiming transaction ends, so the
+    // ~ running count read next stays true for the per-type concurrency limit
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:jobType))) l", nativeQuery = true)
+    int lockJobType(String jobType);
+
+    @Query(value = """
+                SELECT count(*)
+                FROM background_job
+                WHERE job_type = :jobType
+                  AND status = 'RUNNING'
+                  AND locked_until >= :now
+            """, nativeQuery = true)
+    long countRunning(String jobType, LocalDateTime now);
+
+    // ~ Cheap idle check before any claim transaction
+    @Query(value = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM background_job
+                    WHERE (status = 'QUEUED' AND run_after <= :now)
+                       OR (status = 'RUNNING' AND locked_until < :now)
+                )
+            """, nativeQuery = true)
+    boolean existsClaimable(LocalDateTime now);
+
+    // ~ Due jobs plus RUNNING ones whose worker lease expired; SKIP LOCKED keeps concurrent claimers apart
+    @Query(value = """
+                SELECT *
+                FROM background_job
+                WHERE job_type = :jobType
+                  AND ((status = 'QUEUED' AND run_after <= :now)
+                       OR (status = 'RUNNING' AND locked_until < :now))
+                ORDER BY run_after, created_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<BackgroundJob> claimDue(String jobType, LocalDateTime now, int limit);
+
+    // ~ Heartbeat while the handler runs; returns 0 once the job was taken over
+    @Modifying
+    @Query("""
+                UPDATE BackgroundJob j
+                SET j.lockedUntil = :lockedUntil
+                WHERE j.jobId = :jobId
+                  AND j.lockedBy = :workerId
+                  AND j.status = com.ysminfosolution.realestate.model.BackgroundJob.Status.RUNNING
+            """)
+    int renewLease(UUID jobId, String workerId, LocalDateTime lockedUntil);
+
+    // ~ Finishing writes only land while the worker still owns the job, so a job taken over after an
+    // ~ expired lease is not overwritten by the original worker
+    @Modifying
+    @Query("""
+                UPDATE BackgroundJob j
+                SET j.status = :status, j.resultKey = :resultKey, j.lastError = :error, j.runAfter = :runAfter,
+                    j.finishedAt = :finishedAt, j.lockedBy = null, j.lockedUntil = null
+                WHERE j.jobId = :jobId AND j.lockedBy = :workerId
+            """)
+    int finish(UUID jobId, String workerId, BackgroundJob.Status status, String resultKey, String error,
+            LocalDateTime runAfter, LocalDateTime finishedAt);
+
+    @Modifying
+    @Query("""
+                DELETE FROM BackgroundJob j
+                WHERE j.status IN (com.ysminfosolution.realestate.model.BackgroundJob.Status.SUCCEEDED,
+                                   com.ysminfosolution.realestate.model.BackgroundJob.Status.FAILED)
+                  AND j.finishedAt < :finishedBefore
+            """)
+    int deleteFinishedBefore(LocalDateTime finishedBefore);
+
+}
@@ -0,0 +1,49 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.DataVersion;
+
+public interface DataVersionRepository extends JpaRepository<DataVersion, UUID> {
+
+    interface ProjectVersion {
+        UUID getProjectId();
+        Long getVersion();
+    }
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO data_version (id, project_id, scope, version, updated_at)
+                VALUES (gen_random_uuid(), :projectId, :scope, 1, now())
+                ON CONFLICT (project_id, scope)
+                DO UPDATE SET version = data_version.version + 1, updated_at = now()
+            """, nativeQuery = true)
+    void bump(UUID projectId, String scope);
+
+    // ~ Also creates missing rows, so projects that never had a write still get a new version
+    @Modifying
+    @Query(value = """
+                INSERT INTO data_version (id, project_id, scope, version, updated_at)
+                SELECT gen_random_uuid(), p.project_id, :scope, 1, now()
+                FROM projects p
+                WHERE p.org_id = :orgId
+                  AND p.is_deleted = false
+                ON CONFLICT (project_id, scope)
+                DO UPDATE SET version = data_version.version + 1, updated_at = now()
+            """, nativeQuery = true)
+    int bumpOrganizationProjects(UUID orgId, String scope);
+
+    @Query("""
+                SELECT v.projectId AS projectId, v.version AS version
+                FROM DataVersion v
+                WHERE v.projectId IN :projectIds AND v.scope = :scope
+            """)
+    List<ProjectVersion> findVersions(Collection<UUID> projectIds, DataVersion.Scope scope);
+
+}
@@ -0,0 +1,195 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.EnquiryFunnelDaily;
+
+public interface EnquiryFunnelRepository extends JpaRepository<EnquiryFunnelDaily, UUID> {
+
+    interface FunnelTotal {
+        UUID getProjectId();
+        String getReference();
+        Status getStatus();
+        Long getCreatedCount();
+        Long getEnteredCount();
+        Long getExitedCount();
+        Long getCohortCount();
+    }
+
+    // ^ Enquiries to seed, as they stood when tracking began: the from_status of their first logged transition,
+    // ^ else their current status, entered at statusChangedAt (createdAt for legacy rows)
+    String SEED_ROWS = """
+                WITH seed AS (
+                    SELECT
+                        e.enquiry_id,
+                        e.project_id,
+                        e.reference,
+                        e.created_at,
+                        COALESCE(first_t.from_status, e.status) AS status,
+                        CASE
+                            WHEN first_t.from_status IS NULL THEN COALESCE(e.status_changed_at, e.created_at)
+                            ELSE e.created_at
+                        END AS entered_at
+                    FROM enquiries e
+                    LEFT JOIN LATERAL (
+                        SELECT t.from_status
+                        FROM enquiry_status_transition t
+                        WHERE t.enquiry_id = e.enquiry_id
+                        ORDER BY t.transitioned_at
+                        LIMIT 1
+                    ) first_t ON true
+                    WHERE e.enquiry_id IN (:enquiryIds)
+                )
+            """;
+
+    interface DwellBucket {
+        UUID getProjectId();
+        String getReference();
+        Status getStatus();
+        Integer getDwellDays();
+        Long getExitCount();
+    }
+
+    // ~ Single statement upserts, concurrent transitions on the same day never lose an increment
+    @Modifying
+    @Query(value = """
+                INSERT INTO enquiry_funnel_daily (
+                    id, project_id, day, reference, status, created_count, entered_count, exited_count
+                )
+                VALUES (gen_random_uuid(), :projectId, :day, :reference, :status, :created, :entered, :exited)
+                ON CONFLICT (project_id, day, reference, status)
+                DO UPDATE SET
+                    created_count = enquiry_funnel_daily.created_count + EXCLUDED.created_count,
+                    entered_count = enquiry_funnel_daily.entered_count + EXCLUDED.entered_count,
+                    exited_count = enquiry_funnel_daily.exited_count + EXCLUDED.exited_count
+            """, nativeQuery = true)
+    void adjustFunnel(UUID projectId, LocalDate day, String reference, String status, long created, long entered,
+            long exited);
+
+    // ~ Moves one creation cohort between statuses; day is the enquiries' creation day
+    @Modifying
+    @Query(value = """
+                INSERT INTO enquiry_funnel_daily (
+                    id, project_id, day, reference, status, created_count, entered_count, exited_count, cohort_count
+                )
+                VALUES (gen_random_uuid(), :projectId, :day, :reference, :status, 0, 0, 0, :delta)
+                ON CONFLICT (project_id, day, reference, status)
+                DO UPDATE SET cohort_count = enquiry_funnel_daily.cohort_count + EXCLUDED.cohort_count
+            """, nativeQuery = true)
+    void adjustCohort(UUID projectId, LocalDate day, String reference, String status, long delta);
+
+    // ~ Enquiries without a creation entry (from_status IS NULL), i.e. created before the analytics existed
+    @Query(value = """
+                SELECT e.enquiry_id
+                FROM enquiries e
+                WHERE e.enquiry_id > :after
+                  AND NOT EXISTS (
+                      SELECT 1
+                      FROM enquiry_status_transition t
+                      WHERE t.enquiry_id = e.enquiry_id AND t.from_status IS NULL
+                  )
+                ORDER BY e.enquiry_id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findEnquiryIdsMissingCreationEntry(UUID after, int limit);
+
+    // ~ Seed rollups: the creation entry and cohort on the creation day, plus the entry into the seeded status
+    @Modifying
+    @Query(value = SEED_ROWS + """
+                INSERT INTO enquiry_funnel_daily (
+                    id, project_id, day, reference, status, created_count, entered_count, exited_count, cohort_count
+                )
+                SELECT gen_random_uuid(), c.project_id, c.day, c.reference, c.status,
+                       SUM(c.created), SUM(c.entered), SUM(c.exited), SUM(c.cohort)
+                FROM (
+                    SELECT project_id, CAST(created_at AS date) AS day, reference, 'ONGOING' AS status,
+                           1 AS created, 1 AS entered, 0 AS exited, 0 AS cohort
+                    FROM seed
+                    UNION ALL
+                    SELECT project_id, CAST(created_at AS date), reference, status, 0, 0, 0, 1
+                    FROM seed
+                    UNION ALL
+                    SELECT project_id, CAST(entered_at AS date), reference, status, 0, 1, 0, 0
+                    FROM seed
+                    WHERE status <> 'ONGOING'
+                    UNION ALL
+                    SELECT project_id, CAST(entered_at AS date), reference, 'ONGOING', 0, 0, 1, 0
+                    FROM seed
+                    WHERE status <> 'ONGOING'
+                ) c
+                GROUP BY c.project_id, c.day, c.reference, c.status
+                ON CONFLICT (project_id, day, reference, status)
+                DO UPDATE SET
+                    created_count = enquiry_funnel_daily.created_count + EXCLUDED.created_count,
+                    entered_count = enquiry_funnel_daily.entered_count + EXCLUDED.entered_count,
+                    exited_count = enquiry_funnel_daily.exited_count + EXCLUDED.exited_count,
+                    cohort_count = enquiry_funnel_daily.cohort_count + EXCLUDED.cohort_count
+            """, nativeQuery = true)
+    int seedFunnel(Collection<UUID> enquiryIds);
+
+    // ~ Run after seedFunnel: the creation entries mark the enquiries as seeded
+    @Modifying
+    @Query(value = SEED_ROWS + """
+                INSERT INTO enquiry_status_transition (
+                    id, enquiry_id, project_id, reference, from_status, to_status, seconds_in_previous_status,
+                    transitioned_at
+                )
+                SELECT gen_random_uuid(), enquiry_id, project_id, reference, NULL, 'ONGOING', NULL, created_at
+                FROM seed
+            """, nativeQuery = true)
+    int insertCreationEntries(Collection<UUID> enquiryIds);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO enquiry_status_dwell_daily (id, project_id, day, reference, status, dwell_days, exit_count)
+                VALUES (gen_random_uuid(), :projectId, :day, :reference, :status, :dwellDays, :count)
+                ON CONFLICT (project_id, day, reference, status, dwell_days)
+                DO UPDATE SET exit_count = enquiry_status_dwell_daily.exit_count + EXCLUDED.exit_count
+            """, nativeQuery = true)
+    void incrementDwell(UUID projectId, LocalDate day, String reference, String status, int dwellDays, long count);
+
+    @Query("""
+                SELECT
+                    f.projectId AS projectId,
+                    f.reference AS reference,
+                    f.status AS status,
+                    SUM(f.createdCount) AS createdCount,
+                    SUM(f.enteredCount) AS enteredCount,
+                    SUM(f.exitedCount) AS exitedCount,
+                    SUM(f.cohortCount) AS cohortCount
+                FROM EnquiryFunnelDaily f
+                WHERE
+                    f.projectId IN :projectIds
+                    AND f.day >= :from
+                    AND f.day <= :to
+                    AND (:reference IS NULL OR f.reference = :reference)
+                GROUP BY f.projectId, f.reference, f.status
+            """)
+    List<FunnelTotal> findFunnelTotals(Collection<UUID> projectIds, LocalDate from, LocalDate to, String reference);
+
+    @Query("""
+                SELECT
+                    d.projectId AS projectId,
+                    d.reference AS reference,
+                    d.status AS status,
+                    d.dwellDays AS dwellDays,
+                    SUM(d.exitCount) AS exitCount
+                FROM EnquiryStatusDwellDaily d
+                WHERE
+                    d.projectId IN :projectIds
+                    AND d.day >= :from
+                    AND d.day <= :to
+                    AND (:reference IS NULL OR d.reference = :reference)
+                GROUP BY d.projectId, d.reference, d.status, d.dwellDays
+            """)
+    List<DwellBucket> findDwellBuckets(Collection<UUID> projectIds, LocalDate from, LocalDate to, String reference);
+
+}
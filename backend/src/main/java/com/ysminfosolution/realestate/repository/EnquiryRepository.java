@@ -1,17 +1,75 @@
 package com.ysminfosolution.realestate.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import com.ysminfosolution.realestate.dto.EnquiryBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.EnquiryResponseDTO;
 import com.ysminfosolution.realestate.model.Enquiry;
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
 import com.ysminfosolution.realestate.model.Project;
 
+import jakarta.persistence.LockModeType;
+
 public interface EnquiryRepository extends JpaRepository<Enquiry, UUID> {
 
+    interface LeadSearchRow {
+        UUID getEnquiryId();
+        UUID getProjectId();
+        String getProjectName();
+        String getLeadName();
+        String getLeadMobileNumber();
+        String getLeadEmail();
+        String getLeadCity();
+        Status getStatus();
+        Double getScore();
+    }
+
+    interface MatchableLeadRow {
+        UUID getEnquiryId();
+        UUID getProjectId();
+        PropertyType getPropertyType();
+        String getProperty();
+        Double getArea();
+        String getLeadName();
+        String getLeadMobileNumber();
+        Status getStatus();
+        LocalDateTime getCreatedAt();
+        Boolean getDeleted();
+    }
+
+    interface BudgetRow {
+        UUID getEnquiryId();
+        String getBudget();
+    }
+
+    interface StatusChangeRow {
+        UUID getEnquiryId();
+        UUID getProjectId();
+        UUID getOrgId();
+        String getReference();
+        Status getStatus();
+        LocalDateTime getStatusChangedAt();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface ChangedRow {
+        UUID getId();
+        LocalDateTime getUpdatedAt();
+        Boolean getDeleted();
+    }
+
     Set<Enquiry> findAllByProject_ProjectIdAndIsDeletedFalse(UUID projectId);
 
     @Query("""
@@ -34,7 +92,111 @@ public interface EnquiryRepository extends JpaRepository<Enquiry, UUID> {
                     e.leadOccupation,
                     e.leadCompany,
                     e.status,
-                    e.remark
+                    e.remark,
+                    e.createdAt
+                )
+                FROM Enquiry e
+                JOIN e.project p
+                WHERE
+                    e.isDeleted = false
+                    AND p.isDeleted = false
+                    AND p.organization.orgId = :orgId
+                    AND (:budgetTo IS NULL OR e.budgetMin <= :budgetTo)
+                    AND (:budgetFrom IS NULL OR (e.budgetMin IS NOT NULL AND (e.budgetMax IS NULL OR e.budgetMax >= :budgetFrom)))
+            """)
+    Set<EnquiryResponseDTO> findAllEnquiriesForOrg(UUID orgId, Long budgetFrom, Long budgetTo);
+
+    @Query("""
+                SELECT new com.ysminfosolution.realestate.dto.EnquiryResponseDTO(
+                    e.enquiryId,
+                    p.projectId,
+                    p.projectName,
+                    e.propertyType,
+                    e.property,
+                    e.area,
+                    e.budget,
+                    e.reference,
+                    e.referenceName,
+                    e.leadName,
+                    e.leadMobileNumber,
+                    e.leadLandlineNumber,
+                    e.leadEmail,
+                    e.leadCity,
+                    e.leadAddress,
+                    e.leadOccupation,
+                    e.leadCompany,
+                    e.status,
+                    e.remark,
+                    e.createdAt
+                )
+                FROM Enquiry e
+                JOIN e.project p
+                WHERE
+                    e.isDeleted = false
+                    AND p.isDeleted = false
+                    AND p IN :projects
+                    AND (:budgetTo IS NULL OR e.budgetMin <= :budgetTo)
+                    AND (:budgetFrom IS NULL OR (e.budgetMin IS NOT NULL AND (e.budgetMax IS NULL OR e.budgetMax >= :budgetFrom)))
+            """)
+    Set<EnquiryResponseDTO> findAllEnquiriesForProjects(Set<Project> projects, Long budgetFrom, Long budgetTo);
+
+    // ~ Budget filters compare the parsed range: the lead's range must overlap [budgetFrom, budgetTo]
+    @Query("""
+                SELECT new com.ysminfosolution.realestate.dto.EnquiryResponseDTO(
+                    e.enquiryId,
+                    p.projectId,
+                    p.projectName,
+                    e.propertyType,
+                    e.property,
+                    e.area,
+                    e.budget,
+                    e.reference,
+                    e.referenceName,
+                    e.leadName,
+                    e.leadMobileNumber,
+                    e.leadLandlineNumber,
+                    e.leadEmail,
+                    e.leadCity,
+                    e.leadAddress,
+                    e.leadOccupation,
+                    e.leadCompany,
+                    e.status,
+                    e.remark,
+                    e.createdAt
+                )
+                FROM Enquiry e
+                JOIN e.project p
+                WHERE
+                    e.isDeleted = false
+                    AND p.projectId = :projectId
+                    AND (:budgetTo IS NULL OR e.budgetMin <= :budgetTo)
+                    AND (:budgetFrom IS NULL OR (e.budgetMin IS NOT NULL AND (e.budgetMax IS NULL OR e.budgetMax >= :budgetFrom)))
+            """)
+    Set<EnquiryResponseDTO> findAllEnquiriesForProject(UUID projectId, Long budgetFrom, Long budgetTo);
+
+    // ~ Keyset pages ordered newest first on (createdAt, enquiryId); the cursor is the last row of the previous page
+    @Query("""
+                SELECT new com.ysminfosolution.realestate.dto.EnquiryResponseDTO(
+                    e.enquiryId,
+                    p.projectId,
+                    p.projectName,
+                    e.propertyType,
+                    e.property,
+                    e.area,
+                    e.budget,
+                    e.reference,
+                    e.referenceName,
+                    e.leadName,
+                    e.leadMobileNumber,
+                    e.leadLandlineNumber,
+                    e.leadEmail,
+                    e.leadCity,
+                    e.leadAddress,
+                    e.leadOccupation,
+                    e.leadCompany,
+                    e.status,
+                    e.remark,
+                    e.createdAt
                 )
                 FROM Enquiry e
                 JOIN e.project p
@@ -42,8 +204,21 @@ public interface EnquiryRepository extends JpaRepository<Enquiry, UUID> {
                     e.isDeleted = false
                     AND p.isDeleted = false
                     AND p.organization.orgId = :orgId
+                    AND (:projectId IS NULL OR p.projectId = :projectId)
+                    AND (:status IS NULL OR e.status = :status)
+                    AND (:reference IS NULL OR e.reference = :reference)
+                    AND (:createdFrom IS NULL OR e.createdAt >= :createdFrom)
+                    AND (:createdTo IS NULL OR e.createdAt < :createdTo)
+                    AND (
+                        :cursorCreatedAt IS NULL
+                        OR e.createdAt < :cursorCreatedAt
+                        OR (e.createdAt = :cursorCreatedAt AND e.enquiryId < :cursorEnquiryId)
+                    )
+                ORDER BY e.createdAt DESC, e.enquiryId DESC
             """)
-    Set<EnquiryResponseDTO> findAllEnquiriesForOrg(UUID orgId);
+    List<EnquiryResponseDTO> findEnquiryPageForOrg(UUID orgId, UUID projectId, Status status, String reference,
+            LocalDateTime createdFrom, LocalDateTime createdTo, LocalDateTime cursorCreatedAt, UUID cursorEnquiryId,
+            Pageable pageable);
 
     @Query("""
                 SELECT new com.ysminfosolution.realestate.dto.EnquiryResponseDTO(
@@ -65,7 +240,8 @@ public interface EnquiryRepository extends JpaRepository<Enquiry, UUID> {
                     e.leadOccupation,
                     e.leadCompany,
                     e.status,
-                    e.remark
+                    e.remark,
+                    e.createdAt
                 )
                 FROM Enquiry e
                 JOIN e.project p
@@ -73,7 +249,282 @@ public interface EnquiryRepository extends JpaRepository<Enquiry, UUID> {
                     e.isDeleted = false
                     AND p.isDeleted = false
                     AND p IN :projects
+                    AND (:projectId IS NULL OR p.projectId = :projectId)
+                    AND (:status IS NULL OR e.status = :status)
+                    AND (:reference IS NULL OR e.reference = :reference)
+                    AND (:createdFrom IS NULL OR e.createdAt >= :createdFrom)
+                    AND (:createdTo IS NULL OR e.createdAt < :createdTo)
+                    AND (
+                        :cursorCreatedAt IS NULL
+                        OR e.createdAt < :cursorCreatedAt
+                        OR (e.createdAt = :cursorCreatedAt AND e.enquiryId < :cursorEnquiryId)
+                    )
+                ORDER BY e.createdAt DESC, e.enquiryId DESC
+            """)
+    List<EnquiryResponseDTO> findEnquiryPageForProjects(Set<Project> projects, UUID projectId, Status status,
+            String reference, LocalDateTime createdFrom, LocalDateTime createdTo, LocalDateTime cursorCreatedAt,
+            UUID cursorEnquiryId, Pageable pageable);
+
+    @Query("""
+                SELECT new com.ysminfosolution.realestate.dto.EnquiryBasicInfoDTO(
+                    e.enquiryId,
+                    e.createdAt,
+                    e.leadName,
+                    e.leadMobileNumber,
+                    p.projectId,
+                    p.projectName,
+                    e.budget,
+                    e.status
+                )
+                FROM Enquiry e
+                JOIN e.project p
+                WHERE
+                    e.isDeleted = false
+                    AND p.isDeleted = false
+                    AND p.projectId IN :projectIds
+                    AND (:status IS NULL OR e.status = :status)
+                    AND (:createdFrom IS NULL OR e.createdAt >= :createdFrom)
+                    AND (:createdTo IS NULL OR e.createdAt < :createdTo)
+            """)
+    Set<EnquiryBasicInfoDTO> findEnquiryBasicInfoForProjects(Set<UUID> projectIds, Status status,
+            LocalDateTime createdFrom, LocalDateTime createdTo);
+
+    interface LeadFingerprintMatch {
+        UUID getEnquiryId();
+        String getLeadMobileFingerprint();
+        String getLeadEmailFingerprint();
+    }
+
+    // ~ Both fingerprint columns are indexed, Postgres answers the OR with a bitmap OR of two index scans
+    @Query("""
+                SELECT e FROM Enquiry e
+                JOIN FETCH e.project p
+                WHERE
+                    e.isDeleted = false
+                    AND p.organization.orgId = :orgId
+                    AND (e.leadMobileFingerprint = :mobileFingerprint OR e.leadEmailFingerprint = :emailFingerprint)
+                ORDER BY e.createdAt DESC
+            """)
+    List<Enquiry> findDuplicateLeads(UUID orgId, String mobileFingerprint, String emailFingerprint);
+
+    @Query("""
+                SELECT
+                    e.enquiryId AS enquiryId,
+                    e.leadMobileFingerprint AS leadMobileFingerprint,
+                    e.leadEmailFingerprint AS leadEmailFingerprint
+                FROM Enquiry e
+                WHERE
+                    e.isDeleted = false
+                    AND e.project.organization.orgId = :orgId
+                    AND (e.leadMobileFingerprint IN :mobileFingerprints OR e.leadEmailFingerprint IN :emailFingerprints)
+            """)
+    List<LeadFingerprintMatch> findLeadFingerprintMatches(UUID orgId, Collection<String> mobileFingerprints,
+            Collection<String> emailFingerprints);
+
+    @Query(value = """
+                SELECT e.enquiry_id
+                FROM enquiries e
+                WHERE e.enquiry_id > :afterEnquiryId
+                  AND (e.lead_mobile_fingerprint IS NULL OR e.lead_email_fingerprint IS NULL)
+                ORDER BY e.enquiry_id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findEnquiryIdsMissingFingerprints(UUID afterEnquiryId, int limit);
+
+    @Query(value = """
+                SELECT e.enquiry_id AS enquiryId, e.budget AS budget
+                FROM enquiries e
+                WHERE e.enquiry_id > :afterEnquiryId
+                  AND e.budget_min IS NULL
+                ORDER BY e.enquiry_id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<BudgetRow> findEnquiryBudgetsToParse(UUID afterEnquiryId, int limit);
+
+    // ! Same normalization as util.LeadFingerprint
+    @Modifying
+    @Query(value = """
+                UPDATE enquiries
+                SET
+                    lead_mobile_fingerprint = NULLIF(right(regexp_replace(lead_mobile_number, '\\D', '', 'g'), 10), ''),
+                    lead_email_fingerprint = NULLIF(lower(regexp_replace(lead_email, '\\s', '', 'g')), '')
+                WHERE enquiry_id IN :enquiryIds
+            """, nativeQuery = true)
+    int fillLeadFingerprints(Collection<UUID> enquiryIds);
+
+    // ~ Served by the pg_trgm GIN indexes created in DatabaseIndexInitializer (LIKE '%..%' and the % similarity operator)
+    @Query(value = """
+                SELECT
+                    e.enquiry_id            AS enquiryId,
+                    p.project_id            AS projectId,
+                    p.project_name          AS projectName,
+                    e.lead_name             AS leadName,
+                    e.lead_mobile_number    AS leadMobileNumber,
+                    e.lead_email            AS leadEmail,
+                    e.lead_city             AS leadCity,
+                    e.status                AS status,
+                    GREATEST(
+                        similarity(lower(e.lead_name), :term),
+                        similarity(lower(e.lead_email), :term),
+                        similarity(lower(e.lead_city), :term)
+                    ) + CASE
+                        WHEN lower(e.lead_name) LIKE :prefix
+                            OR lower(e.lead_email) LIKE :prefix
+                            OR e.lead_mobile_number LIKE :contains THEN 1
+                        ELSE 0
+                    END                     AS score
+                FROM enquiries e
+                JOIN projects p ON p.project_id = e.project_id
+                WHERE
+                    e.is_deleted = false
+                    AND p.is_deleted = false
+                    AND e.project_id IN (:projectIds)
+                    AND (
+                        lower(e.lead_name) LIKE :contains
+                        OR lower(e.lead_email) LIKE :contains
+                        OR lower(e.lead_city) LIKE :contains
+                        OR e.lead_mobile_number LIKE :contains
+                        OR lower(e.lead_name) % :term
+                        OR lower(e.lead_email) % :term
+                    )
+                ORDER BY score DESC, e.created_at DESC
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<LeadSearchRow> searchLeads(Set<UUID> projectIds, String term, String prefix, String contains, int limit);
+
+    @Query("""
+                SELECT
+                    e.enquiryId AS enquiryId,
+                    e.project.projectId AS projectId,
+                    e.propertyType AS propertyType,
+                    e.property AS property,
+                    e.area AS area,
+                    e.leadName AS leadName,
+                    e.leadMobileNumber AS leadMobileNumber,
+                    e.status AS status,
+                    e.createdAt AS createdAt,
+                    e.isDeleted AS deleted
+                FROM Enquiry e
+                WHERE
+                    e.project.projectId = :projectId
+                    AND e.isDeleted = false
+                    AND e.status NOT IN :closedStatuses
+            """)
+    List<MatchableLeadRow> findOpenLeadsForMatching(UUID projectId, Collection<Status> closedStatuses);
+
+    @Query("""
+                SELECT
+                    e.enquiryId AS enquiryId,
+                    e.project.projectId AS projectId,
+                    e.propertyType AS propertyType,
+                    e.property AS property,
+                    e.area AS area,
+                    e.leadName AS leadName,
+                    e.leadMobileNumber AS leadMobileNumber,
+                    e.status AS status,
+                    e.createdAt AS createdAt,
+                    e.isDeleted AS deleted
+                FROM Enquiry e
+                WHERE e.enquiryId = :enquiryId
+            """)
+    Optional<MatchableLeadRow> findLeadForMatching(UUID enquiryId);
+
+    // ~ Delta sync: rows touched after the cursor in (updatedAt, enquiryId) order, soft deleted ones included
+    @Query("""
+                SELECT
+                    e.enquiryId AS id,
+                    e.updatedAt AS updatedAt,
+                    e.isDeleted AS deleted
+                FROM Enquiry e
+                WHERE
+                    e.project.projectId IN :projectIds
+                    AND e.updatedAt < :settledBefore
+                    AND (
+                        e.updatedAt > :cursorUpdatedAt
+                        OR (e.updatedAt = :cursorUpdatedAt AND e.enquiryId > :cursorEnquiryId)
+                    )
+                ORDER BY e.updatedAt ASC, e.enquiryId ASC
+            """)
+    List<ChangedRow> findChangedEnquiries(Set<UUID> projectIds, LocalDateTime cursorUpdatedAt, UUID cursorEnquiryId,
+            LocalDateTime settledBefore, Pageable pageable);
+
+    @Query("""
+                SELECT new com.ysminfosolution.realestate.dto.EnquiryResponseDTO(
+                    e.enquiryId,
+                    p.projectId,
+                    p.projectName,
+                    e.propertyType,
+                    e.property,
+                    e.area,
+                    e.budget,
+                    e.reference,
+                    e.referenceName,
+                    e.leadName,
+                    e.leadMobileNumber,
+                    e.leadLandlineNumber,
+                    e.leadEmail,
+                    e.leadCity,
+                    e.leadAddress,
+                    e.leadOccupation,
+                    e.leadCompany,
+                    e.status,
+                    e.remark,
+                    e.createdAt
+                )
+                FROM Enquiry e
+                JOIN e.project p
+                WHERE e.enquiryId IN :enquiryIds
+            """)
+    List<EnquiryResponseDTO> findEnquiryResponsesByIds(Collection<UUID> enquiryIds);
+
+    // ~ Row-locked load for edits: the status counters and rollups are adjusted from the status read here, so a
+    // ~ concurrent status change must wait until this transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enquiry e WHERE e.enquiryId = :enquiryId")
+    Optional<Enquiry> findByIdForUpdate(UUID enquiryId);
+
+    // ~ Set-wise counterpart of findByIdForUpdate, in id order so two overlapping batches cannot deadlock.
+    // ~ Run before findStatusChangeRows: its (next) statement then reads the rows as last committed
+    @Query(value = """
+                SELECT enquiry_id
+                FROM enquiries
+                WHERE enquiry_id IN :enquiryIds
+                ORDER BY enquiry_id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockForUpdate(Collection<UUID> enquiryIds);
+
+    @Query("""
+                SELECT
+                    e.enquiryId AS enquiryId,
+                    p.projectId AS projectId,
+                    p.organization.orgId AS orgId,
+                    e.reference AS reference,
+                    e.status AS status,
+                    e.statusChangedAt AS statusChangedAt,
+                    e.createdAt AS createdAt
+                FROM Enquiry e
+                JOIN e.project p
+                WHERE
+                    e.enquiryId IN :enquiryIds
+                    AND e.isDeleted = false
+            """)
+    List<StatusChangeRow> findStatusChangeRows(Collection<UUID> enquiryIds);
+
+    // ~ Batch status change. Bulk updates skip @UpdateTimestamp, so updatedAt is set here for the delta feed
+    @Modifying
+    @Query("""
+                UPDATE Enquiry e
+                SET
+                    e.status = :status,
+                    e.statusChangedAt = :now,
+                    e.updatedAt = :now,
+                    e.remark = CASE
+                        WHEN :defaultRemark IS NOT NULL AND (e.remark IS NULL OR TRIM(e.remark) = '') THEN :defaultRemark
+                        ELSE e.remark
+                    END
+                WHERE e.enquiryId IN :enquiryIds
             """)
-    Set<EnquiryResponseDTO> findAllEnquiriesForProjects(Set<Project> projects);
+    int updateStatusForIds(Collection<UUID> enquiryIds, Status status, String defaultRemark, LocalDateTime now);
 
 }
@@ -0,0 +1,14 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.ysminfosolution.realestate.model.EnquiryStatusTransition;
+
+public interface EnquiryStatusTransitionRepository extends JpaRepository<EnquiryStatusTransition, UUID> {
+
+    // ~ Whether the enquiry's creation is counted in the funnel rollups (live creation or seed)
+    boolean existsByEnquiryIdAndFromStatusIsNull(UUID enquiryId);
+
+}
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.ysminfosolution.realestate.model.Flat;
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
 
 
 public interface FlatRepository extends JpaRepository<Flat, UUID> {
@@ -20,6 +21,17 @@ public interface FlatRepository extends JpaRepository<Flat, UUID> {
         Long getTotalProperties();
     }
 
+    interface MatchableFlatRow {
+        UUID getPropertyId();
+        UUID getProjectId();
+        String getPropertyNumber();
+        String getWingName();
+        Short getFloorNo();
+        PropertyType getPropertyType();
+        String getProperty();
+        Double getArea();
+    }
+
     void deleteAllByFloor_FloorId(UUID floorId);
 
     Set<Flat> findAllByFloor_FloorId(UUID floorId);
@@ -44,5 +56,47 @@ public interface FlatRepository extends JpaRepository<Flat, UUID> {
     Optional<Flat> findByPropertyIdAndIsDeletedFalse(UUID propertyId);
 
     long countByProject_ProjectIdAndIsDeletedFalse(UUID projectId);
+
+    // ~ Vacant = not deleted, still marked Vacant and without a live booking
+    @Query("""
+            SELECT
+                f.propertyId AS propertyId,
+                f.project.projectId AS projectId,
+                f.propertyNumber AS propertyNumber,
+                w.wingName AS wingName,
+                fl.floorNo AS floorNo,
+                fl.propertyType AS propertyType,
+                fl.property AS property,
+                f.area AS area
+            FROM Flat f
+            JOIN f.wing w
+            JOIN f.floor fl
+            WHERE f.project.projectId = :projectId
+              AND f.isDeleted = false
+              AND f.status = com.ysminfosolution.realestate.model.Flat.Status.Vacant
+              AND NOT EXISTS (
+                  SELECT 1 FROM Booking b
+                  WHERE b.flat = f AND b.isCancelled = false AND b.isDeleted = false
+              )
+            """)
+    List<MatchableFlatRow> findVacantFlatsForMatching(UUID projectId);
+
+    @Query("""
+            SELECT
+                f.propertyId AS propertyId,
+                f.project.projectId AS projectId,
+                f.propertyNumber AS propertyNumber,
+                w.wingName AS wingName,
+                fl.floorNo AS floorNo,
+                fl.propertyType AS propertyType,
+                fl.property AS property,
+                f.area AS area
+            FROM Flat f
+            JOIN f.wing w
+            JOIN f.floor fl
+            WHERE f.propertyId = :propertyId
+              AND f.isDeleted = false
+            """)
+    Optional<MatchableFlatRow> findFlatForMatching(UUID propertyId);
     
 }
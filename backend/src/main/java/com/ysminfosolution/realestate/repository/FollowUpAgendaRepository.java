@@ -0,0 +1,74 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.FollowUpAgendaEntry;
+
+public interface FollowUpAgendaRepository extends JpaRepository<FollowUpAgendaEntry, UUID> {
+
+    interface AgendaRow {
+        UUID getFollowUpId();
+        String getLeadName();
+        String getLeadMobileNumber();
+        LocalDate getDueDate();
+        String getAgentName();
+        String getDescription();
+    }
+
+    // ~ A new latest node hands the follow-up over to its author
+    @Modifying
+    @Query(value = """
+                INSERT INTO follow_up_agenda (follow_up_id, user_id, project_id, due_date, updated_at)
+                VALUES (:followUpId, :userId, :projectId, :dueDate, :now)
+                ON CONFLICT (follow_up_id)
+                DO UPDATE SET
+                    user_id = EXCLUDED.user_id,
+                    project_id = EXCLUDED.project_id,
+                    due_date = EXCLUDED.due_date,
+                    updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void upsert(UUID followUpId, UUID userId, UUID projectId, LocalDate dueDate, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                UPDATE FollowUpAgendaEntry a
+                SET a.dueDate = :dueDate, a.updatedAt = :now
+                WHERE a.followUpId = :followUpId
+            """)
+    int moveDueDate(UUID followUpId, LocalDate dueDate, LocalDateTime now);
+
+    // ~ Range scan on idx_follow_up_agenda_user_due, then primary-key joins for the display fields
+    @Query("""
+                SELECT
+                    a.followUpId AS followUpId,
+                    e.leadName AS leadName,
+                    e.leadMobileNumber AS leadMobileNumber,
+                    a.dueDate AS dueDate,
+                    f.lastNodeUserName AS agentName,
+                    f.description AS description
+                FROM FollowUpAgendaEntry a
+                JOIN FollowUp f ON f.followUpId = a.followUpId
+                JOIN f.enquiry e
+                WHERE
+                    a.userId = :userId
+                    AND a.dueDate >= :from
+                    AND a.dueDate <= :to
+                    AND f.isDeleted = false
+                    AND e.isDeleted = false
+                    AND e.status NOT IN :closedStatuses
+                    AND a.projectId IN :projectIds
+                ORDER BY a.dueDate ASC, a.followUpId ASC
+            """)
+    List<AgendaRow> findAgenda(UUID userId, LocalDate from, LocalDate to, Collection<UUID> projectIds,
+            Collection<Status> closedStatuses);
+
+}
@@ -1,13 +1,18 @@
 package com.ysminfosolution.realestate.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.ysminfosolution.realestate.dto.FollowUpNodeResponseDTO;
 import com.ysminfosolution.realestate.model.FollowUpNode;
 
 public interface FollowUpNodeRepository extends JpaRepository<FollowUpNode, UUID> {
@@ -41,4 +46,28 @@ public interface FollowUpNodeRepository extends JpaRepository<FollowUpNode, UUID
             """)
     Optional<FollowUpNode> findByFollowUpIdAndNodeId(@Param("followUpId") UUID followUpId,
             @Param("nodeId") UUID nodeId);
+
+    // ~ Timeline page, newest first, resolved on idx_follow_up_node_timeline
+    @Query("""
+            SELECT new com.ysminfosolution.realestate.dto.FollowUpNodeResponseDTO(
+                fn.followUpNodeId,
+                fn.followUpDateTime,
+                fn.createdAt,
+                fn.body,
+                fn.tag,
+                u.fullName
+            )
+            FROM FollowUpNode fn
+            JOIN fn.user u
+            WHERE fn.followUp.followUpId = :followUpId
+            AND fn.isDeleted = false
+            AND (
+                :cursorDateTime IS NULL
+                OR fn.followUpDateTime < :cursorDateTime
+                OR (fn.followUpDateTime = :cursorDateTime AND fn.followUpNodeId < :cursorNodeId)
+            )
+            ORDER BY fn.followUpDateTime DESC, fn.followUpNodeId DESC
+            """)
+    List<FollowUpNodeResponseDTO> findTimelinePage(UUID followUpId, LocalDateTime cursorDateTime, UUID cursorNodeId,
+            Pageable pageable);
 } 
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.ysminfosolution.realestate.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,6 +20,21 @@ import com.ysminfosolution.realestate.model.Project;
 
 public interface FollowUpRepository extends JpaRepository<FollowUp, UUID> {
 
+    interface TaskRow {
+        UUID getFollowUpId();
+        String getLeadName();
+        String getLeadMobileNumber();
+        LocalDate getFollowUpNextDate();
+        String getAgentName();
+        String getDescription();
+    }
+
+    interface ChangedRow {
+        UUID getId();
+        LocalDateTime getUpdatedAt();
+        Boolean getDeleted();
+    }
+
     Optional<FollowUp> findByEnquiry_EnquiryId(UUID enquiryId);
 
     @Query("""
@@ -63,4 +83,111 @@ public interface FollowUpRepository extends JpaRepository<FollowUp, UUID> {
 
     Optional<FollowUp> findByFollowUpIdAndIsDeletedFalse(UUID followUpId);
 
+    // ~ Delta sync: rows touched after the cursor in (updatedAt, followUpId) order, soft deleted ones included
+    @Query("""
+                SELECT
+                    f.followUpId AS id,
+                    f.updatedAt AS updatedAt,
+                    CASE WHEN f.isDeleted = true OR e.isDeleted = true THEN true ELSE false END AS deleted
+                FROM FollowUp f
+                JOIN f.enquiry e
+                WHERE
+                    e.project.projectId IN :projectIds
+                    AND f.updatedAt < :settledBefore
+                    AND (
+                        f.updatedAt > :cursorUpdatedAt
+                        OR (f.updatedAt = :cursorUpdatedAt AND f.followUpId > :cursorFollowUpId)
+                    )
+                ORDER BY f.updatedAt ASC, f.followUpId ASC
+            """)
+    List<ChangedRow> findChangedFollowUps(Set<UUID> projectIds, LocalDateTime cursorUpdatedAt, UUID cursorFollowUpId,
+            LocalDateTime settledBefore, Pageable pageable);
+
+    @Query("""
+                SELECT f FROM FollowUp f
+                JOIN FETCH f.enquiry e
+                WHERE f.followUpId IN :followUpIds
+            """)
+    Set<FollowUp> findAllByIdsWithFetch(Collection<UUID> followUpIds);
+
+    @Query("""
+                SELECT f FROM FollowUp f
+                JOIN FETCH f.enquiry e
+                WHERE
+                    e.project.projectId IN :projectIds
+                    AND f.isDeleted = false
+                    AND e.isDeleted = false
+                    AND f.followUpId > :afterFollowUpId
+                ORDER BY f.followUpId ASC
+            """)
+    List<FollowUp> findChunkByProjectIds(Collection<UUID> projectIds, UUID afterFollowUpId, Pageable pageable);
+
+    // ~ Task list: range and keyset are resolved on idx_follow_up_next_date, the latest node's author is read from
+    // ~ the denormalized pointer. Without bounds only follow-ups that still have a task are listed
+    @Query(value = """
+                SELECT
+                    f.follow_up_id AS followUpId,
+                    e.lead_name AS leadName,
+                    e.lead_mobile_number AS leadMobileNumber,
+                    f.follow_up_next_date AS followUpNextDate,
+                    f.last_node_user_name AS agentName,
+                    f.description AS description
+                FROM follow_up f
+                JOIN enquiries e ON e.enquiry_id = f.enquiry_id
+                WHERE
+                    f.is_deleted = false
+                    AND e.project_id IN (:projectIds)
+                    AND (CAST(:fromDate AS date) IS NULL OR f.follow_up_next_date >= CAST(:fromDate AS date))
+                    AND (CAST(:toDate AS date) IS NULL OR f.follow_up_next_date <= CAST(:toDate AS date))
+                    AND (
+                        :onlyWithTask = false
+                        OR EXISTS (SELECT 1 FROM task t WHERE t.follow_up_id = f.follow_up_id)
+                    )
+                    AND (
+                        CAST(:cursorDate AS date) IS NULL
+                        OR (f.follow_up_next_date, f.follow_up_id) > (CAST(:cursorDate AS date), CAST(:cursorFollowUpId AS uuid))
+                    )
+                ORDER BY f.follow_up_next_date ASC, f.follow_up_id ASC
+            """, nativeQuery = true)
+    List<TaskRow> findTaskRows(Collection<UUID> projectIds, LocalDate fromDate, LocalDate toDate, boolean onlyWithTask,
+            LocalDate cursorDate, UUID cursorFollowUpId, Pageable pageable);
+
+    // ^ The follow-up payload embeds lead fields, so lead edits must move the follow-up in the delta feed too
+    @Modifying
+    @Query("""
+                UPDATE FollowUp f
+                SET f.updatedAt = :now
+                WHERE f.enquiry.enquiryId = :enquiryId
+            """)
+    int touchByEnquiryId(UUID enquiryId, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                UPDATE FollowUp f
+                SET f.updatedAt = :now
+                WHERE f.enquiry.enquiryId IN :enquiryIds
+            """)
+    int touchByEnquiryIds(Collection<UUID> enquiryIds, LocalDateTime now);
+
+    @Query(value = """
+                SELECT f.follow_up_id
+                FROM follow_up f
+                WHERE f.follow_up_id > :afterFollowUpId
+                  AND f.last_node_id IS NULL
+                ORDER BY f.follow_up_id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findFollowUpIdsMissingLastNode(UUID afterFollowUpId, int limit);
+
+    @Query(value = """
+                SELECT f.follow_up_id
+                FROM follow_up f
+                WHERE f.follow_up_id > :afterFollowUpId
+                  AND f.is_deleted = false
+                  AND NOT EXISTS (SELECT 1 FROM follow_up_agenda a WHERE a.follow_up_id = f.follow_up_id)
+                ORDER BY f.follow_up_id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findFollowUpIdsMissingAgenda(UUID afterFollowUpId, int limit);
+
 }
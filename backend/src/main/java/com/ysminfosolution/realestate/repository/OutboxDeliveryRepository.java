@@ -0,0 +1,30 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.OutboxDelivery;
+
+public interface OutboxDeliveryRepository extends JpaRepository<OutboxDelivery, UUID> {
+
+    @Query("SELECT d.subscriber FROM OutboxDelivery d WHERE d.eventId = :eventId")
+    List<String> findSubscribersByEventId(Long eventId);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO outbox_delivery (id, event_id, subscriber, delivered_at)
+                VALUES (gen_random_uuid(), :eventId, :subscriber, now())
+                ON CONFLICT (event_id, subscriber) DO NOTHING
+            """, nativeQuery = true)
+    int markDelivered(Long eventId, String subscriber);
+
+    @Modifying
+    @Query("DELETE FROM OutboxDelivery d WHERE d.eventId IN :eventIds")
+    int deleteByEventIds(Collection<Long> eventIds);
+
+}
@@ -0,0 +1,34 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // ~ Only rows written by transactions older than the snapshot's xmin (the oldest one still in flight): no
+    // ~ row can appear below that line any more, so (write_txid, id) is a fixed order that is never back-filled.
+    // ~ The scheduled job lock keeps the dispatcher on one instance. Plain FOR UPDATE, no SKIP LOCKED: skipping a
+    // ~ row would deliver later ones first
+    // ! A long-running transaction holds xmin back and delays delivery until it ends; events are never lost
+    @Query(value = """
+                SELECT *
+                FROM outbox_event
+                WHERE processed_at IS NULL
+                  AND write_txid < txid_snapshot_xmin(txid_current_snapshot())
+                ORDER BY write_txid, id
+                LIMIT :limit
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<OutboxEvent> claimPendingBatch(int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.processedAt IS NOT NULL AND o.processedAt < :processedBefore")
+    int deleteProcessedBefore(LocalDateTime processedBefore);
+
+}
@@ -0,0 +1,60 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.ProjectEnquiryStatusCount;
+
+public interface ProjectEnquiryStatusCountRepository extends JpaRepository<ProjectEnquiryStatusCount, UUID> {
+
+    interface ProjectStatusCount {
+        UUID getProjectId();
+        Status getStatus();
+        Long getEnquiryCount();
+    }
+
+    // ~ Single statement upsert, so concurrent transactions adjusting the same counter never lose an update
+    @Modifying
+    @Query(value = """
+                INSERT INTO project_enquiry_status_count (id, project_id, status, enquiry_count, updated_at)
+                VALUES (gen_random_uuid(), :projectId, :status, :delta, now())
+                ON CONFLICT (project_id, status)
+                DO UPDATE SET
+                    enquiry_count = project_enquiry_status_count.enquiry_count + EXCLUDED.enquiry_count,
+                    updated_at = now()
+            """, nativeQuery = true)
+    void adjustCount(UUID projectId, String status, long delta);
+
+    @Query("""
+                SELECT c.project.projectId AS projectId, c.status AS status, c.enquiryCount AS enquiryCount
+                FROM ProjectEnquiryStatusCount c
+                WHERE c.project.projectId IN :projectIds
+            """)
+    List<ProjectStatusCount> findCountsByProjectIds(Collection<UUID> projectIds);
+
+    // ! Blocks concurrent adjustCount calls until the rebuild commits, they then apply on top of the fresh counts
+    @Modifying
+    @Query(value = "LOCK TABLE project_enquiry_status_count IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM project_enquiry_status_count", nativeQuery = true)
+    void deleteAllCounts();
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO project_enquiry_status_count (id, project_id, status, enquiry_count, updated_at)
+                SELECT gen_random_uuid(), e.project_id, e.status, COUNT(*), now()
+                FROM enquiries e
+                WHERE e.is_deleted = false
+                GROUP BY e.project_id, e.status
+            """, nativeQuery = true)
+    int insertCountsFromEnquiries();
+
+}
@@ -0,0 +1,50 @@
+package com.ysminfosolution.realestate.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.ScheduledJobLock;
+
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    // ~ Takes the lease when the job has no row yet or the previous lease has expired; returns 0 while it is held
+    @Modifying
+    @Query(value = """
+                INSERT INTO scheduled_job_lock (job_name, locked_by, locked_until, last_started_at)
+                VALUES (:jobName, :owner, now() + make_interval(secs => :leaseSeconds), now())
+                ON CONFLICT (job_name)
+                DO UPDATE SET
+                    locked_by = EXCLUDED.locked_by,
+                    locked_until = EXCLUDED.locked_until,
+                    last_started_at = EXCLUDED.last_started_at
+                WHERE scheduled_job_lock.locked_until <= now()
+            """, nativeQuery = true)
+    int tryAcquire(String jobName, String owner, long leaseSeconds);
+
+    // ~ Heartbeat while the job runs; returns 0 once another instance owns the lease
+    @Modifying
+    @Query(value = """
+                UPDATE scheduled_job_lock
+                SET locked_until = now() + make_interval(secs => :leaseSeconds)
+                WHERE job_name = :jobName
+                  AND locked_by = :owner
+            """, nativeQuery = true)
+    int renew(String jobName, String owner, long leaseSeconds);
+
+    // ~ Keeps the lease for at least minHoldSeconds after the start, so a peer firing on the same cron tick skips it
+    @Modifying
+    @Query(value = """
+                UPDATE scheduled_job_lock
+                SET
+                    locked_until = GREATEST(now(), last_started_at + make_interval(secs => :minHoldSeconds)),
+                    last_finished_at = now(),
+                    last_duration_ms = :durationMs,
+                    last_outcome = :outcome,
+                    last_error = :error
+                WHERE job_name = :jobName
+                  AND locked_by = :owner
+            """, nativeQuery = true)
+    int release(String jobName, String owner, long minHoldSeconds, long durationMs, String outcome, String error);
+
+}
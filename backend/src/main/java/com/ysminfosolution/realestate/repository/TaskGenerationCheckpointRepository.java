@@ -0,0 +1,56 @@
+package com.ysminfosolution.realestate.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ysminfosolution.realestate.model.TaskGenerationCheckpoint;
+
+public interface TaskGenerationCheckpointRepository extends JpaRepository<TaskGenerationCheckpoint, UUID> {
+
+    // ~ Orgs whose slot for today has passed and whose run for today has not completed
+    // ! Offsets are clamped to [-60, 1375] so a slot always falls within today (see Organization)
+    @Query(value = """
+                SELECT o.org_id
+                FROM organization o
+                LEFT JOIN task_generation_checkpoint c ON c.org_id = o.org_id
+                WHERE o.is_deleted = false
+                  AND LEAST(GREATEST(o.task_generation_offset_minutes, -60), 1375) <= :minutesSinceBase
+                  AND (c.org_id IS NULL OR c.run_date < :today OR c.phase <> 'COMPLETED')
+                ORDER BY LEAST(GREATEST(o.task_generation_offset_minutes, -60), 1375), o.org_id
+            """, nativeQuery = true)
+    List<UUID> findDueOrgIds(LocalDate today, long minutesSinceBase);
+
+    // ~ Starts today's run, or leaves an unfinished one for today where it stopped
+    @Modifying
+    @Query(value = """
+                INSERT INTO task_generation_checkpoint (org_id, run_date, phase, deleted_count, inserted_count, updated_at)
+                VALUES (:orgId, :today, 'DELETING', 0, 0, now())
+                ON CONFLICT (org_id)
+                DO UPDATE SET
+                    run_date = EXCLUDED.run_date,
+                    phase = EXCLUDED.phase,
+                    deleted_count = 0,
+                    inserted_count = 0,
+                    updated_at = now()
+                WHERE task_generation_checkpoint.run_date < EXCLUDED.run_date
+            """, nativeQuery = true)
+    void begin(UUID orgId, LocalDate today);
+
+    @Modifying
+    @Query(value = """
+                UPDATE task_generation_checkpoint
+                SET
+                    phase = :phase,
+                    deleted_count = deleted_count + :deleted,
+                    inserted_count = inserted_count + :inserted,
+                    updated_at = now()
+                WHERE org_id = :orgId
+            """, nativeQuery = true)
+    void advance(UUID orgId, String phase, int deleted, int inserted);
+
+}
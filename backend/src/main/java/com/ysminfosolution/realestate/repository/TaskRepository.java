@@ -1,20 +1,30 @@
 package com.ysminfosolution.realestate.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.ysminfosolution.realestate.model.Enquiry;
-import com.ysminfosolution.realestate.model.FollowUp;
 import com.ysminfosolution.realestate.model.Project;
 import com.ysminfosolution.realestate.model.Task;
 
 public interface TaskRepository extends JpaRepository<Task, UUID> {
 
-    boolean existsByFollowUp(FollowUp followUp);
+    // ~ Single round trip and safe under concurrent edits: a second insert for the same follow-up is a no-op
+    @Modifying
+    @Query(value = """
+                INSERT INTO task (task_id, follow_up_id, created_at, updated_at)
+                VALUES (gen_random_uuid(), :followUpId, :now, :now)
+                ON CONFLICT (follow_up_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(UUID followUpId, LocalDateTime now);
 
     @Query("""
                 SELECT t FROM Task t
@@ -27,4 +37,55 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
 
     void deleteByFollowUp_Enquiry(Enquiry enquiry);
 
+    @Modifying
+    @Query("""
+                DELETE FROM Task t
+                WHERE t.followUp.followUpId IN (
+                    SELECT f.followUpId
+                    FROM FollowUp f
+                    WHERE f.enquiry.enquiryId IN :enquiryIds
+                )
+            """)
+    int deleteByEnquiryIds(Collection<UUID> enquiryIds);
+
+    // ~ Daily generation, insert side: the org's open follow-ups due today or overdue that have no task yet
+    @Modifying
+    @Query(value = """
+                INSERT INTO task (task_id, follow_up_id, created_at, updated_at)
+                SELECT gen_random_uuid(), f.follow_up_id, :now, :now
+                FROM follow_up f
+                JOIN enquiries e ON e.enquiry_id = f.enquiry_id
+                JOIN projects p ON p.project_id = e.project_id
+                WHERE p.org_id = :orgId
+                  AND f.follow_up_next_date <= :today
+                  AND f.is_deleted = false
+                  AND e.is_deleted = false
+                  AND e.status NOT IN ('CANCELLED', 'BOOKED')
+                  AND NOT EXISTS (SELECT 1 FROM task t WHERE t.follow_up_id = f.follow_up_id)
+                LIMIT :limit
+                ON CONFLICT (follow_up_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertDueTasks(UUID orgId, LocalDate today, LocalDateTime now, int limit);
+
+    // ~ Daily generation, delete side: the org's tasks whose follow-up moved past today, was deleted or whose
+    // ~ enquiry closed
+    @Modifying
+    @Query(value = """
+                DELETE FROM task
+                WHERE task_id IN (
+                    SELECT t.task_id
+                    FROM task t
+                    JOIN follow_up f ON f.follow_up_id = t.follow_up_id
+                    JOIN enquiries e ON e.enquiry_id = f.enquiry_id
+                    JOIN projects p ON p.project_id = e.project_id
+                    WHERE p.org_id = :orgId
+                      AND (f.follow_up_next_date > :today
+                           OR f.is_deleted = true
+                           OR e.is_deleted = true
+                           OR e.status IN ('CANCELLED', 'BOOKED'))
+                    LIMIT :limit
+                )
+            """, nativeQuery = true)
+    int deleteStaleTasks(UUID orgId, LocalDate today, int limit);
+
 }
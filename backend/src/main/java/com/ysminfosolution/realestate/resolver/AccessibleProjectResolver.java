@@ -0,0 +1,50 @@
+package com.ysminfosolution.realestate.resolver;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import com.ysminfosolution.realestate.model.Project;
+import com.ysminfosolution.realestate.model.User;
+import com.ysminfosolution.realestate.repository.EmployeeUserInfoRepository;
+import com.ysminfosolution.realestate.repository.ProjectRepository;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+
+// * Projects a user may list data for: every live project of the org for admins,
+// * the allocated (live) projects for employees.
+@Service
+@RequiredArgsConstructor
+public class AccessibleProjectResolver {
+
+    private final ProjectRepository projectRepository;
+    private final EmployeeUserInfoRepository employeeUserInfoRepository;
+
+    public Set<Project> resolve(AppUserDetails appUserDetails) {
+
+        if (appUserDetails.getRole().equals(User.Role.ADMIN)) {
+            return projectRepository.findAllByOrganization_OrgIdAndIsDeletedFalse(appUserDetails.getOrgId());
+        }
+
+        if (appUserDetails.getRole().equals(User.Role.EMPLOYEE)) {
+            return employeeUserInfoRepository.findByUser_UserId(UUID.fromString(appUserDetails.getUserId()))
+                    .orElseThrow(() -> new AccessDeniedException("Employee not found"))
+                    .getProjects()
+                    .stream()
+                    .filter(project -> !project.isDeleted())
+                    .collect(Collectors.toSet());
+        }
+
+        throw new AccessDeniedException("User does not have access to project data");
+    }
+
+    public Set<UUID> resolveIds(AppUserDetails appUserDetails) {
+        return resolve(appUserDetails).stream()
+                .map(Project::getProjectId)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,182 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.model.BackgroundJob;
+import com.ysminfosolution.realestate.repository.BackgroundJobRepository;
+import com.ysminfosolution.realestate.service.BackgroundJobHandler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// * Claims due background jobs per type, up to the handler's cluster-wide concurrency limit, and runs them on
+// * virtual threads. Claiming is a short transaction (SKIP LOCKED plus a lease); the job itself runs outside
+// * it, and its outcome is written in another short transaction. The lease is renewed by a heartbeat while the
+// * handler runs, so only a dead worker's jobs expire and count as free slots. Failures are retried with exponential backoff;
+// * after max_attempts the job is marked FAILED with the last error kept.
+@Slf4j
+@Service
+public class BackgroundJobWorker {
+
+    private static final int LEASE_MINUTES = 3;
+    private static final long HEARTBEAT_SECONDS = 60;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 60 * 60;
+    private static final int RETENTION_DAYS = 7;
+
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final ObjectProvider<BackgroundJobHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("background-job-heartbeat").factory());
+    private final String workerId;
+
+    public BackgroundJobWorker(BackgroundJobRepository backgroundJobRepository,
+            ObjectProvider<BackgroundJobHandler> handlers, PlatformTransactionManager transactionManager) {
+        this.backgroundJobRepository = backgroundJobRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // ^ Only the claim is serialized by the scheduled job lock; claimed jobs run on whichever instance took them.
+    // ^ Every tick already costs the lock's two lease transactions, so the queue is polled every 5s and an idle
+    // ^ queue stops at one read instead of a claim transaction per job type
+    @Scheduled(fixedDelay = 5000, initialDelay = 10000)
+    public void pollJobs() {
+        if (!backgroundJobRepository.existsClaimable(LocalDateTime.now())) {
+            return;
+        }
+
+        for (BackgroundJobHandler handler : handlers.orderedStream().toList()) {
+            List<BackgroundJob> claimed = transactionTemplate.execute(status -> claim(handler));
+            if (claimed == null) {
+                continue;
+            }
+            for (BackgroundJob job : claimed) {
+                executor.submit(() -> run(handler, job));
+            }
+        }
+    }
+
+    private List<BackgroundJob> claim(BackgroundJobHandler handler) {
+        String jobType = handler.type().name();
+        LocalDateTime now = LocalDateTime.now();
+
+        backgroundJobRepository.lockJobType(jobType);
+        long free = handler.maxConcurrency() - backgroundJobRepository.countRunning(jobType, now);
+        if (free <= 0) {
+            return List.of();
+        }
+
+        List<BackgroundJob> claimed = new ArrayList<>();
+        for (BackgroundJob job : backgroundJobRepository.claimDue(jobType, now, (int) free)) {
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                // ? Lease expired on the last attempt: the worker died while running it
+                job.setStatus(BackgroundJob.Status.FAILED);
+                job.setLastError("Worker stopped while running the job");
+                job.setFinishedAt(now);
+                job.setLockedBy(null);
+                job.setLockedUntil(null);
+                continue;
+            }
+
+            job.setStatus(BackgroundJob.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStartedAt(now);
+            job.setLockedBy(workerId);
+            job.setLockedUntil(now.plusMinutes(LEASE_MINUTES));
+            claimed.add(job);
+        }
+
+        // ~ Managed entities: the claim flushes when this transaction commits
+        return claimed;
+    }
+
+    private void run(BackgroundJobHandler handler, BackgroundJob job) {
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> renewLease(job), HEARTBEAT_SECONDS,
+                HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        String resultKey;
+        try {
+            resultKey = handler.handle(job);
+        } catch (RuntimeException e) {
+            renewal.cancel(false);
+            recordFailure(job, e);
+            return;
+        } finally {
+            renewal.cancel(false);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> backgroundJobRepository.finish(job.getJobId(), workerId,
+                BackgroundJob.Status.SUCCEEDED, resultKey, null, job.getRunAfter(), LocalDateTime.now()));
+        log.info("Background job {} ({}) succeeded", job.getJobId(), job.getJobType());
+    }
+
+    private void recordFailure(BackgroundJob job, RuntimeException e) {
+        String error = truncate(e.toString());
+        LocalDateTime now = LocalDateTime.now();
+
+        if (job.getAttempts() < job.getMaxAttempts()) {
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << (job.getAttempts() - 1));
+            transactionTemplate.executeWithoutResult(status -> backgroundJobRepository.finish(job.getJobId(),
+                    workerId, BackgroundJob.Status.QUEUED, null, error, now.plusSeconds(backoff), null));
+            log.warn("Background job {} ({}) failed, attempt {}, retrying in {}s: {}", job.getJobId(),
+                    job.getJobType(), job.getAttempts(), backoff, e.getMessage());
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> backgroundJobRepository.finish(job.getJobId(), workerId,
+                BackgroundJob.Status.FAILED, null, error, job.getRunAfter(), now));
+        log.error("Background job {} ({}) failed {} times, giving up", job.getJobId(), job.getJobType(),
+                job.getAttempts(), e);
+    }
+
+    private void renewLease(BackgroundJob job) {
+        try {
+            Integer renewed = transactionTemplate.execute(status -> backgroundJobRepository.renewLease(job.getJobId(),
+                    workerId, LocalDateTime.now().plusMinutes(LEASE_MINUTES)));
+            if (renewed == null || renewed == 0) {
+                log.error("Background job {} ({}) lost its lease while running; it may run twice", job.getJobId(),
+                        job.getJobType());
+            }
+        } catch (RuntimeException e) {
+            // ! Must not escape: an exception cancels the periodic renewal for the rest of the run
+            log.warn("Could not renew lease of background job {}: {}", job.getJobId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 45 03 * * *")
+    public void purgeFinishedJobs() {
+        Integer purged = transactionTemplate.execute(status -> backgroundJobRepository
+                .deleteFinishedBefore(LocalDateTime.now().minusDays(RETENTION_DAYS)));
+        log.info("Purged {} finished background jobs", purged);
+    }
+
+    // ! Jobs interrupted here keep their lease and are claimed again once it expires
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        heartbeat.shutdownNow();
+    }
+
+    private String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+}
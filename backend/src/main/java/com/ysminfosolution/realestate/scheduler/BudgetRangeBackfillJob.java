@@ -0,0 +1,86 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.repository.EnquiryRepository;
+import com.ysminfosolution.realestate.util.BudgetParser;
+
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Parses budget_min/budget_max for enquiries created before the numeric columns existed.
+// ^ Walks the table in enquiry_id order, one short transaction per chunk. Budgets that cannot be parsed stay
+// ^ null and are only re-read (never rewritten) on the next start.
+@Slf4j
+@Service
+public class BudgetRangeBackfillJob {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    // ^ Only rows still unparsed and still holding the budget text that was parsed: a user edit made after the
+    // ^ row was read has already written its own range (or a new text) and must not be overwritten
+    private static final String UPDATE_SQL = """
+            UPDATE enquiries
+            SET budget_min = ?, budget_max = ?
+            WHERE enquiry_id = ?
+              AND budget_min IS NULL
+              AND budget = ?
+            """;
+
+    private final EnquiryRepository enquiryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BudgetRangeBackfillJob(EnquiryRepository enquiryRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.enquiryRepository = enquiryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBudgetRanges() {
+        UUID after = new UUID(0L, 0L);
+        int parsed = 0;
+        int unreadable = 0;
+
+        while (true) {
+            List<EnquiryRepository.BudgetRow> rows = enquiryRepository.findEnquiryBudgetsToParse(after, CHUNK_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> updates = rows.stream()
+                    .map(row -> {
+                        BudgetParser.BudgetRange range = BudgetParser.parse(row.getBudget());
+                        return range == null
+                                ? null
+                                : new Object[] { range.min(), range.max(), row.getEnquiryId(), row.getBudget() };
+                    })
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!updates.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, updates,
+                        new int[] { Types.BIGINT, Types.BIGINT, Types.OTHER, Types.VARCHAR }));
+            }
+
+            parsed += updates.size();
+            unreadable += rows.size() - updates.size();
+            after = rows.get(rows.size() - 1).getEnquiryId();
+        }
+
+        if (parsed > 0 || unreadable > 0) {
+            log.info("Backfilled budget ranges for {} enquiries, {} budgets could not be parsed", parsed, unreadable);
+        }
+    }
+
+}
@@ -1,52 +1,134 @@
 package com.ysminfosolution.realestate.scheduler;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.HashSet;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntSupplier;
 
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.ysminfosolution.realestate.model.FollowUp;
-import com.ysminfosolution.realestate.model.Task;
-import com.ysminfosolution.realestate.repository.FollowUpRepository;
+import com.ysminfosolution.realestate.model.DataVersion;
+import com.ysminfosolution.realestate.model.TaskGenerationCheckpoint;
+import com.ysminfosolution.realestate.model.TaskGenerationCheckpoint.Phase;
+import com.ysminfosolution.realestate.repository.TaskGenerationCheckpointRepository;
 import com.ysminfosolution.realestate.repository.TaskRepository;
+import com.ysminfosolution.realestate.service.DataVersionService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+// ^ Brings the task table in line with the follow-ups that are due today or overdue. Only the difference is
+// ^ written: stale tasks are deleted and missing ones inserted, each side in chunks with one short transaction
+// ^ per chunk, so tasks that are still valid keep their row (and created_at) across nights.
+// ^ Work is sharded per organization: each org runs at 01:00 plus its own offset, orgs are processed in parallel
+// ^ on virtual threads (bounded so the small connection pool stays available to requests), and a checkpoint
+// ^ row per org lets a crashed run resume at the phase it reached.
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DailyTaskScheduler {
 
-    private final FollowUpRepository followUpRepository;
+    private static final int CHUNK_SIZE = 1000;
+    private static final LocalTime BASE_TIME = LocalTime.of(1, 0);
+
+    // ! Hikari runs with 4 connections in prod; each org holds at most one while a chunk runs
+    private static final int MAX_PARALLEL_ORGS = 2;
+
     private final TaskRepository taskRepository;
+    private final TaskGenerationCheckpointRepository checkpointRepository;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transactionTemplate;
 
-    // Runs every night at 23:59 (you can adjust cron)
+    public DailyTaskScheduler(TaskRepository taskRepository,
+            TaskGenerationCheckpointRepository checkpointRepository, DataVersionService dataVersionService,
+            PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.dataVersionService = dataVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ^ Polls every 5 minutes; an org is picked up once its slot has passed and until today's run completes
     // @Scheduled(cron = "0 */1 * * * *") // ^ For testing: runs every minute
-    @Scheduled(cron = "0 00 01 * * *")
-    @Transactional
+    @Scheduled(cron = "0 */5 * * * *")
     public void generateTasksForToday() {
         LocalDate today = LocalDate.now();
-        log.info("Running daily task generation for date: {}", today);
+        long minutesSinceBase = Duration.between(today.atTime(BASE_TIME), LocalDateTime.now()).toMinutes();
 
-        taskRepository.deleteAllInBatch(); // ✅ executes immediately
-        taskRepository.flush(); // Ensure deletion is flushed before proceeding
+        List<UUID> orgIds = checkpointRepository.findDueOrgIds(today, minutesSinceBase);
+        if (orgIds.isEmpty()) {
+            return;
+        }
+        log.info("Running daily task generation for date: {} ({} organizations)", today, orgIds.size());
 
-        Set<FollowUp> dueFollowUps = followUpRepository.findByFollowUpNextDateAndIsDeletedFalse(today);
+        Semaphore permits = new Semaphore(MAX_PARALLEL_ORGS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (UUID orgId : orgIds) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        generateForOrganization(orgId, today);
+                    } catch (RuntimeException e) {
+                        // ? Checkpoint stays where it stopped, the next poll resumes from there
+                        log.error("Task generation failed for org {}: {}", orgId, e.getMessage(), e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
 
-        Set<Task> tasks = new HashSet<>(dueFollowUps.stream()
-                .map(f -> {
-                    Task t = new Task();
-                    t.setFollowUp(f);
-                    return t;
-                })
-                .toList());
+    private void generateForOrganization(UUID orgId, LocalDate today) {
+        TaskGenerationCheckpoint checkpoint = transactionTemplate.execute(status -> {
+            checkpointRepository.begin(orgId, today);
+            return checkpointRepository.findById(orgId).orElseThrow();
+        });
+
+        if (checkpoint.getPhase() == Phase.DELETING) {
+            int chunkDeleted;
+            do {
+                chunkDeleted = runChunk(orgId, Phase.DELETING, true,
+                        () -> taskRepository.deleteStaleTasks(orgId, today, CHUNK_SIZE));
+            } while (chunkDeleted == CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(
+                    status -> checkpointRepository.advance(orgId, Phase.INSERTING.name(), 0, 0));
+        }
+
+        int chunkInserted;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            chunkInserted = runChunk(orgId, Phase.INSERTING, false,
+                    () -> taskRepository.insertDueTasks(orgId, today, now, CHUNK_SIZE));
+        } while (chunkInserted == CHUNK_SIZE);
+
+        TaskGenerationCheckpoint completed = transactionTemplate.execute(status -> {
+            checkpointRepository.advance(orgId, Phase.COMPLETED.name(), 0, 0);
+            TaskGenerationCheckpoint row = checkpointRepository.findById(orgId).orElseThrow();
+            if (row.getDeletedCount() > 0 || row.getInsertedCount() > 0) {
+                dataVersionService.bumpOrganizationProjects(orgId, DataVersion.Scope.FOLLOW_UPS);
+            }
+            return row;
+        });
+        log.info("Task generation for org {} on {}: {} tasks added, {} stale tasks removed", orgId, today,
+                completed.getInsertedCount(), completed.getDeletedCount());
+    }
 
-        taskRepository.saveAll(tasks);
-        log.info("Generated {} new tasks for today", tasks.size());
+    // ~ One chunk and its checkpoint advance commit together
+    private int runChunk(UUID orgId, Phase phase, boolean deleting, IntSupplier statement) {
+        Integer affected = transactionTemplate.execute(status -> {
+            int count = statement.getAsInt();
+            checkpointRepository.advance(orgId, phase.name(), deleting ? count : 0, deleting ? 0 : count);
+            return count;
+        });
+        return affected == null ? 0 : affected;
     }
 
 }
@@ -0,0 +1,63 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.repository.EnquiryFunnelRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Seeds the funnel rollups from enquiries created before the analytics existed: a creation entry on createdAt,
+// ^ the entry into the status they had when tracking began, and their place in the creation cohort. Without it,
+// ^ bookings of older leads would show up with no matching creation.
+// ^ Walks the table in enquiry_id order, one short transaction per chunk, and is a no-op once every row is seeded.
+@Slf4j
+@Service
+public class EnquiryFunnelSeedJob {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EnquiryFunnelRepository funnelRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EnquiryFunnelSeedJob(EnquiryFunnelRepository funnelRepository,
+            PlatformTransactionManager transactionManager) {
+        this.funnelRepository = funnelRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFunnel() {
+        UUID after = new UUID(0L, 0L);
+        int seeded = 0;
+
+        while (true) {
+            UUID cursor = after;
+            List<UUID> enquiryIds = transactionTemplate.execute(status -> {
+                List<UUID> ids = funnelRepository.findEnquiryIdsMissingCreationEntry(cursor, CHUNK_SIZE);
+                if (!ids.isEmpty()) {
+                    funnelRepository.seedFunnel(ids);
+                    funnelRepository.insertCreationEntries(ids);
+                }
+                return ids;
+            });
+
+            if (enquiryIds == null || enquiryIds.isEmpty()) {
+                break;
+            }
+            seeded += enquiryIds.size();
+            after = enquiryIds.get(enquiryIds.size() - 1);
+        }
+
+        if (seeded > 0) {
+            log.info("Seeded funnel analytics for {} existing enquiries", seeded);
+        }
+    }
+
+}
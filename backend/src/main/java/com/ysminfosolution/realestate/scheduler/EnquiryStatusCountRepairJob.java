@@ -0,0 +1,36 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ysminfosolution.realestate.service.EnquiryStatusCountService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnquiryStatusCountRepairJob {
+
+    private final EnquiryStatusCountService enquiryStatusCountService;
+
+    // ^ First start after the counter table was introduced: seed it from existing enquiries
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedCountersIfEmpty() {
+        if (enquiryStatusCountService.isEmpty()) {
+            log.info("Enquiry status counters are empty, building them from enquiries");
+            enquiryStatusCountService.rebuild();
+        }
+    }
+
+    // ~ Nightly repair in case a counter drifted (e.g. concurrent status changes on the same enquiry)
+    @Scheduled(cron = "0 30 02 * * *")
+    public void repairCounters() {
+        log.info("Running nightly enquiry status counter repair");
+        enquiryStatusCountService.rebuild();
+    }
+
+}
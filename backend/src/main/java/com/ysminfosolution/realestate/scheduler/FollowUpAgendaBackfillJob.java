@@ -0,0 +1,74 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.repository.FollowUpRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Seeds follow_up_agenda for follow-ups that existed before the agenda index, owned by the author of the
+// ^ latest node. Walks the table in follow_up_id order, one short transaction per chunk.
+@Slf4j
+@Service
+public class FollowUpAgendaBackfillJob {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO follow_up_agenda (follow_up_id, user_id, project_id, due_date, updated_at)
+            SELECT DISTINCT ON (n.follow_up_id)
+                n.follow_up_id, n.user_id, e.project_id, f.follow_up_next_date, now()
+            FROM follow_up_node n
+            JOIN follow_up f ON f.follow_up_id = n.follow_up_id
+            JOIN enquiries e ON e.enquiry_id = f.enquiry_id
+            WHERE n.follow_up_id > ? AND n.follow_up_id <= ?
+              AND n.is_deleted = false
+              AND f.is_deleted = false
+            ORDER BY n.follow_up_id, n.follow_up_date_time DESC
+            ON CONFLICT (follow_up_id) DO NOTHING
+            """;
+
+    private final FollowUpRepository followUpRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public FollowUpAgendaBackfillJob(FollowUpRepository followUpRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.followUpRepository = followUpRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAgenda() {
+        UUID after = new UUID(0L, 0L);
+        int inserted = 0;
+
+        while (true) {
+            List<UUID> followUpIds = followUpRepository.findFollowUpIdsMissingAgenda(after, CHUNK_SIZE);
+            if (followUpIds.isEmpty()) {
+                break;
+            }
+
+            UUID from = after;
+            UUID to = followUpIds.get(followUpIds.size() - 1);
+            Integer chunkInserted = transactionTemplate.execute(status -> jdbcTemplate.update(INSERT_SQL, from, to));
+
+            inserted += chunkInserted == null ? 0 : chunkInserted;
+            after = to;
+        }
+
+        if (inserted > 0) {
+            log.info("Backfilled agenda entries for {} follow-ups", inserted);
+        }
+    }
+
+}
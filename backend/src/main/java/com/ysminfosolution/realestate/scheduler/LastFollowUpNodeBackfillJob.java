@@ -0,0 +1,80 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.repository.FollowUpRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Fills last_node_id/last_node_at/last_node_user_name for follow-ups created before the pointer existed.
+// ^ Walks the table in follow_up_id order, one short transaction per chunk. Follow-ups without any live node
+// ^ keep a null pointer and are only re-read on the next start.
+@Slf4j
+@Service
+public class LastFollowUpNodeBackfillJob {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_SQL = """
+            UPDATE follow_up f
+            SET
+                last_node_id = latest.follow_up_node_id,
+                last_node_at = latest.follow_up_date_time,
+                last_node_user_name = u.full_name
+            FROM (
+                SELECT DISTINCT ON (n.follow_up_id)
+                    n.follow_up_id, n.follow_up_node_id, n.follow_up_date_time, n.user_id
+                FROM follow_up_node n
+                WHERE n.follow_up_id > ? AND n.follow_up_id <= ?
+                  AND n.is_deleted = false
+                ORDER BY n.follow_up_id, n.follow_up_date_time DESC
+            ) latest
+            JOIN users u ON u.user_id = latest.user_id
+            WHERE f.follow_up_id = latest.follow_up_id
+              AND f.last_node_id IS NULL
+            """;
+
+    private final FollowUpRepository followUpRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LastFollowUpNodeBackfillJob(FollowUpRepository followUpRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.followUpRepository = followUpRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLastNodes() {
+        UUID after = new UUID(0L, 0L);
+        int updated = 0;
+
+        while (true) {
+            List<UUID> followUpIds = followUpRepository.findFollowUpIdsMissingLastNode(after, CHUNK_SIZE);
+            if (followUpIds.isEmpty()) {
+                break;
+            }
+
+            UUID from = after;
+            UUID to = followUpIds.get(followUpIds.size() - 1);
+            Integer chunkUpdated = transactionTemplate.execute(status -> jdbcTemplate.update(UPDATE_SQL, from, to));
+
+            updated += chunkUpdated == null ? 0 : chunkUpdated;
+            after = to;
+        }
+
+        if (updated > 0) {
+            log.info("Backfilled latest node pointers for {} follow-ups", updated);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.repository.EnquiryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Computes lead fingerprints for enquiries created before duplicate detection existed.
+// ^ Walks the table in enquiry_id order, one short transaction per chunk, and is a no-op once every row is filled.
+@Slf4j
+@Service
+public class LeadFingerprintBackfillJob {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EnquiryRepository enquiryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public LeadFingerprintBackfillJob(EnquiryRepository enquiryRepository,
+            PlatformTransactionManager transactionManager) {
+        this.enquiryRepository = enquiryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLeadFingerprints() {
+        UUID after = new UUID(0L, 0L);
+        int updated = 0;
+
+        while (true) {
+            UUID cursor = after;
+            List<UUID> enquiryIds = transactionTemplate.execute(status -> {
+                List<UUID> ids = enquiryRepository.findEnquiryIdsMissingFingerprints(cursor, CHUNK_SIZE);
+                if (!ids.isEmpty()) {
+                    enquiryRepository.fillLeadFingerprints(ids);
+                }
+                return ids;
+            });
+
+            if (enquiryIds == null || enquiryIds.isEmpty()) {
+                break;
+            }
+            updated += enquiryIds.size();
+            after = enquiryIds.get(enquiryIds.size() - 1);
+        }
+
+        if (updated > 0) {
+            log.info("Backfilled lead fingerprints for {} enquiries", updated);
+        }
+    }
+
+}
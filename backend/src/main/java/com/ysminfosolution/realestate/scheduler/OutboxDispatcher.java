@@ -0,0 +1,122 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.model.OutboxEvent;
+import com.ysminfosolution.realestate.repository.OutboxDeliveryRepository;
+import com.ysminfosolution.realestate.repository.OutboxEventRepository;
+import com.ysminfosolution.realestate.service.OutboxEventSubscriber;
+
+import lombok.extern.slf4j.Slf4j;
+
+// * Polls outbox_event and hands each event to every subscriber that supports its type, strictly in
+// * (write_txid, id) order. A failing event stops the batch so later events are never delivered ahead of it;
+// * after MAX_ATTEMPTS it is parked (marked processed with last_error kept) so one poisoned event cannot block
+// * the outbox forever. Each delivery is recorded in outbox_delivery with the subscriber's work, so a retry only
+// * reaches the subscribers that have not handled the event yet.
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int RETENTION_DAYS = 7;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeliveryRepository outboxDeliveryRepository;
+    private final ObjectProvider<OutboxEventSubscriber> subscribers;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate deliveryTransaction;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+            OutboxDeliveryRepository outboxDeliveryRepository, ObjectProvider<OutboxEventSubscriber> subscribers,
+            PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDeliveryRepository = outboxDeliveryRepository;
+        this.subscribers = subscribers;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        // ! Each delivery gets its own transaction so a subscriber failure cannot roll back the batch bookkeeping
+        this.deliveryTransaction = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelay = 2000, initialDelay = 10000)
+    public void dispatchPendingEvents() {
+        Integer delivered;
+        do {
+            delivered = batchTransaction.execute(status -> dispatchBatch());
+        } while (delivered != null && delivered == BATCH_SIZE);
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> events = outboxEventRepository.claimPendingBatch(BATCH_SIZE);
+        List<OutboxEventSubscriber> targets = subscribers.orderedStream().toList();
+        List<Long> finished = new ArrayList<>();
+        int delivered = 0;
+
+        for (OutboxEvent event : events) {
+            // ~ Only a retried event can have deliveries already
+            Set<String> handled = event.getAttempts() == 0
+                    ? Set.of()
+                    : new HashSet<>(outboxDeliveryRepository.findSubscribersByEventId(event.getId()));
+            try {
+                for (OutboxEventSubscriber subscriber : targets) {
+                    String name = subscriber.subscriberName();
+                    if (subscriber.supports(event.getEventType()) && !handled.contains(name)) {
+                        deliveryTransaction.executeWithoutResult(status -> {
+                            subscriber.onEvent(event);
+                            outboxDeliveryRepository.markDelivered(event.getId(), name);
+                        });
+                    }
+                }
+                event.setProcessedAt(LocalDateTime.now());
+                finished.add(event.getId());
+                delivered++;
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(e.toString()));
+
+                if (event.getAttempts() < MAX_ATTEMPTS) {
+                    log.warn("Outbox event {} ({}) failed, attempt {}: {}", event.getId(), event.getEventType(),
+                            event.getAttempts(), e.getMessage());
+                    break;
+                }
+
+                log.error("Outbox event {} ({}) failed {} times, parking it", event.getId(), event.getEventType(),
+                        event.getAttempts(), e);
+                event.setProcessedAt(LocalDateTime.now());
+                finished.add(event.getId());
+            }
+        }
+
+        if (!finished.isEmpty()) {
+            outboxDeliveryRepository.deleteByEventIds(finished);
+        }
+
+        // ~ Managed entities: the processed_at/attempts changes flush when the batch transaction commits
+        return delivered;
+    }
+
+    @Scheduled(cron = "0 15 03 * * *")
+    public void purgeProcessedEvents() {
+        Integer purged = batchTransaction.execute(status -> outboxEventRepository
+                .deleteProcessedBefore(LocalDateTime.now().minusDays(RETENTION_DAYS)));
+        log.info("Purged {} processed outbox events", purged);
+    }
+
+    private String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ysminfosolution.realestate.service.ScheduledJobLockService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Wraps every @Scheduled method in the application with ScheduledJobLockService, outside any @Transactional.
+// ^ The lease is short and renewed by a heartbeat while the job runs, so a long job keeps it and a dead instance
+// ^ loses it within LEASE_SECONDS. Cron jobs keep the lease for a minute after they start, so a peer firing on the
+// ^ same tick skips instead of re-running right after the first instance finished; fixed-delay/rate jobs release
+// ^ as soon as they return.
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ScheduledJobLockAspect {
+
+    private static final long LEASE_SECONDS = 2 * 60;
+    private static final long HEARTBEAT_SECONDS = 30;
+    private static final long CRON_MIN_HOLD_SECONDS = 60;
+
+    private final ScheduledJobLockService scheduledJobLockService;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("scheduled-job-lock-heartbeat").factory());
+
+    public ScheduledJobLockAspect(ScheduledJobLockService scheduledJobLockService) {
+        this.scheduledJobLockService = scheduledJobLockService;
+    }
+
+    @Around("@annotation(scheduled)")
+    public Object runOnSingleInstance(ProceedingJoinPoint joinPoint, Scheduled scheduled) throws Throwable {
+        String jobName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+
+        if (!scheduledJobLockService.tryAcquire(jobName, LEASE_SECONDS)) {
+            log.debug("Skipping {}: running on another instance", jobName);
+            return null;
+        }
+
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> renewLease(jobName), HEARTBEAT_SECONDS,
+                HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+
+        long minHoldSeconds = scheduled.cron().isEmpty() ? 0 : CRON_MIN_HOLD_SECONDS;
+        long startedAt = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            renewal.cancel(false);
+            long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+            scheduledJobLockService.release(jobName, minHoldSeconds, durationMs, failure);
+        }
+    }
+
+    private void renewLease(String jobName) {
+        try {
+            if (!scheduledJobLockService.renew(jobName, LEASE_SECONDS)) {
+                log.error("Scheduled job {} lost its lease while running; another instance may run it too", jobName);
+            }
+        } catch (RuntimeException e) {
+            // ! Must not escape: an exception cancels the periodic renewal for the rest of the run
+            log.warn("Could not renew scheduled job lock {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+}
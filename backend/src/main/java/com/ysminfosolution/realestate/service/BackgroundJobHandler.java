@@ -0,0 +1,19 @@
+package com.ysminfosolution.realestate.service;
+
+import com.ysminfosolution.realestate.model.BackgroundJob;
+
+// Implemented by beans that execute one type of background job. Runs on a worker thread outside any
+// request; a thrown exception makes the worker retry the job with backoff until max_attempts.
+public interface BackgroundJobHandler {
+
+    BackgroundJob.Type type();
+
+    // ^ Jobs of this type running at once across all instances
+    default int maxConcurrency() {
+        return 1;
+    }
+
+    // ^ Returns the S3 key of the produced file, or null when the job has no downloadable result
+    String handle(BackgroundJob job);
+
+}
@@ -0,0 +1,124 @@
+package com.ysminfosolution.realestate.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysminfosolution.realestate.dto.BackgroundJobDTO;
+import com.ysminfosolution.realestate.error.exception.ApiException;
+import com.ysminfosolution.realestate.error.exception.NotFoundException;
+import com.ysminfosolution.realestate.model.BackgroundJob;
+import com.ysminfosolution.realestate.model.User;
+import com.ysminfosolution.realestate.repository.BackgroundJobRepository;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Queues heavy work (PDF generation, S3 cleanup, imports/exports) in background_job so the request only
+// * records what to do and returns a job id; BackgroundJobWorker picks the job up and the caller polls
+// * GET /jobs/{jobId} for the status and, once done, a download link.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class BackgroundJobService {
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final ObjectMapper objectMapper;
+    private final S3PresignedUrlService s3PresignedUrlService;
+
+    // ^ Joins the caller's transaction: the job only exists if the request that queued it commits
+    public BackgroundJob enqueue(BackgroundJob.Type type, UUID orgId, String requestedBy, Map<String, ?> payload) {
+        return save(type, orgId, requestedBy, payload);
+    }
+
+    // ^ Commits on its own, for cleanup that must happen even when the caller rolls back
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BackgroundJob enqueueDetached(BackgroundJob.Type type, UUID orgId, String requestedBy,
+            Map<String, ?> payload) {
+        return save(type, orgId, requestedBy, payload);
+    }
+
+    @Transactional(readOnly = true)
+    public BackgroundJobDTO getJob(UUID jobId, AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: getJob");
+
+        BackgroundJob job = backgroundJobRepository.findById(jobId)
+                .filter(j -> j.getOrgId().equals(appUserDetails.getOrgId()))
+                .orElseThrow(() -> new NotFoundException("Job not found for id: " + jobId));
+
+        if (appUserDetails.getRole() != User.Role.ADMIN && !job.getRequestedBy().equals(appUserDetails.getUserId())) {
+            throw new AccessDeniedException("You do not have access to this job");
+        }
+
+        return toDTO(job);
+    }
+
+    public Map<String, String> readPayload(BackgroundJob job) {
+        try {
+            return objectMapper.readValue(job.getPayload(), new TypeReference<Map<String, String>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for background job " + job.getJobId(), e);
+        }
+    }
+
+    public BackgroundJobDTO toDTO(BackgroundJob job) {
+        String downloadUrl = job.getStatus() == BackgroundJob.Status.SUCCEEDED && job.getResultKey() != null
+                ? s3PresignedUrlService.generateDownloadUrl(job.getResultKey())
+                : null;
+        LocalDateTime nextAttemptAt = job.getStatus() == BackgroundJob.Status.QUEUED ? job.getRunAfter() : null;
+
+        return new BackgroundJobDTO(
+                job.getJobId(),
+                job.getJobType(),
+                job.getStatus(),
+                job.getAttempts(),
+                job.getMaxAttempts(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                nextAttemptAt,
+                job.getLastError(),
+                downloadUrl);
+    }
+
+    private BackgroundJob save(BackgroundJob.Type type, UUID orgId, String requestedBy, Map<String, ?> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not serialize job payload");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BackgroundJob job = new BackgroundJob();
+        job.setJobType(type);
+        job.setStatus(BackgroundJob.Status.QUEUED);
+        job.setOrgId(orgId);
+        job.setRequestedBy(requestedBy);
+        job.setPayload(json);
+        job.setAttempts(0);
+        job.setMaxAttempts(DEFAULT_MAX_ATTEMPTS);
+        job.setRunAfter(now);
+        job.setCreatedAt(now);
+
+        BackgroundJob saved = backgroundJobRepository.save(job);
+        log.info("Queued background job {} ({}) for org {}", saved.getJobId(), type, orgId);
+        return saved;
+    }
+}
@@ -2,7 +2,6 @@ package com.ysminfosolution.realestate.service;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -11,7 +10,6 @@ import org.springframework.stereotype.Service;
 import com.ysminfosolution.realestate.dto.DashboardProjectDetailedResponseDTO;
 import com.ysminfosolution.realestate.dto.DashboardProjectResponseDTO;
 import com.ysminfosolution.realestate.dto.DashboardResponseDTO;
-import com.ysminfosolution.realestate.dto.EnquiryBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.ProjectBasicInfoDTO;
 import com.ysminfosolution.realestate.model.Enquiry;
 import com.ysminfosolution.realestate.repository.FlatRepository;
@@ -26,16 +24,14 @@ import lombok.extern.slf4j.Slf4j;
 public class DashboardService {
 
     private final ProjectService projectService;
-    private final EnquiryService enquiryService;
+    private final EnquiryStatusCountService enquiryStatusCountService;
     private final FlatRepository flatRepository;
 
     public DashboardResponseDTO getDashboardData(AppUserDetails appUserDetails) {
 
         List<ProjectBasicInfoDTO> projects = projectService.getListofBasicProjectInfo(appUserDetails).getBody();
 
-        Set<EnquiryBasicInfoDTO> enquiries = enquiryService.getListOfEnquiryBasicInfo(appUserDetails).getBody();
-
-        if (projects == null || enquiries == null) {
+        if (projects == null) {
             return new DashboardResponseDTO(0, 0, 0, 0, 0, 0, List.of());
         }
 
@@ -57,26 +53,9 @@ public class DashboardService {
                 .mapToLong(Long::longValue)
                 .sum();
 
-        // -----------------------------------------
-        // Global enquiry stats
-        // -----------------------------------------
-        long propertiesBooked = enquiries.stream()
-                .filter(e -> e.status() == Enquiry.Status.BOOKED)
-                .count();
-
-        int cancelledEnquiries = (int) enquiries.stream()
-                .filter(e -> e.status() == Enquiry.Status.CANCELLED)
-                .count();
-
-        int totalEnquiries = enquiries.size();
-        int totalProjects = projects.size();
-        int propertiesAvailable = (int) (totalProperties - propertiesBooked);
-
-        // -----------------------------------------
-        // Group enquiries by project
-        // -----------------------------------------
-        Map<UUID, List<EnquiryBasicInfoDTO>> enquiriesByProject = enquiries.stream()
-                .collect(Collectors.groupingBy(EnquiryBasicInfoDTO::projectId));
+        // ^ Materialized per project counters, one row per (project, status) instead of every enquiry
+        Map<UUID, EnquiryStatusCountService.StatusCounts> enquiryCountsByProject = enquiryStatusCountService
+                .getCounts(projectIds);
 
         // -----------------------------------------
         // Per-project dashboard data
@@ -84,16 +63,12 @@ public class DashboardService {
         List<DashboardProjectResponseDTO> projectList = projects.stream()
                 .map(project -> {
 
-                    List<EnquiryBasicInfoDTO> projectEnquiries = enquiriesByProject.getOrDefault(project.projectId(),
-                            List.of());
+                    EnquiryStatusCountService.StatusCounts projectCounts = enquiryCountsByProject
+                            .getOrDefault(project.projectId(), EnquiryStatusCountService.StatusCounts.EMPTY);
 
-                    long projectBooked = projectEnquiries.stream()
-                            .filter(e -> e.status() == Enquiry.Status.BOOKED)
-                            .count();
+                    long projectBooked = projectCounts.of(Enquiry.Status.BOOKED);
 
-                    int projectCancelled = (int) projectEnquiries.stream()
-                            .filter(e -> e.status() == Enquiry.Status.CANCELLED)
-                            .count();
+                    int projectCancelled = (int) projectCounts.of(Enquiry.Status.CANCELLED);
 
                     long projectTotalProperties = propertyCountByProject.getOrDefault(project.projectId(), 0L);
                     int projectAvailable = (int) (projectTotalProperties - projectBooked);
@@ -104,11 +79,28 @@ public class DashboardService {
                             projectTotalProperties,
                             projectBooked,
                             projectAvailable,
-                            projectEnquiries.size(),
+                            (int) projectCounts.total(),
                             projectCancelled);
                 })
                 .toList();
 
+        // -----------------------------------------
+        // Global enquiry stats
+        // -----------------------------------------
+        long propertiesBooked = projectList.stream()
+                .mapToLong(DashboardProjectResponseDTO::propertiesBooked)
+                .sum();
+
+        int cancelledEnquiries = projectList.stream()
+                .mapToInt(DashboardProjectResponseDTO::cancelledEnquiries)
+                .sum();
+
+        int totalEnquiries = projectList.stream()
+                .mapToInt(DashboardProjectResponseDTO::totalEnquiries)
+                .sum();
+        int totalProjects = projects.size();
+        int propertiesAvailable = (int) (totalProperties - propertiesBooked);
+
         // -----------------------------------------
         // Final response
         // -----------------------------------------
@@ -0,0 +1,84 @@
+package com.ysminfosolution.realestate.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ysminfosolution.realestate.model.DataVersion.Scope;
+import com.ysminfosolution.realestate.repository.DataVersionRepository;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Version stamps behind the conditional GETs. The ETag of a list endpoint is a hash of the caller,
+// * the version of every project the caller can see and the request parameters, so it changes when
+// * data is written, when the caller's project access changes, or when the parameters differ.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class DataVersionService {
+
+    private final DataVersionRepository dataVersionRepository;
+    private final AccessibleProjectResolver accessibleProjectResolver;
+
+    // ^ Sorted so concurrent transactions lock version rows in the same order (no deadlocks)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Collection<UUID> projectIds, Collection<Scope> scopes) {
+        for (UUID projectId : new TreeSet<>(projectIds)) {
+            for (Scope scope : new TreeSet<>(scopes)) {
+                dataVersionRepository.bump(projectId, scope.name());
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpOrganizationProjects(UUID orgId, Scope scope) {
+        dataVersionRepository.bumpOrganizationProjects(orgId, scope.name());
+    }
+
+    @Transactional(readOnly = true)
+    public String currentETag(AppUserDetails appUserDetails, Scope scope, Object... discriminators) {
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+
+        Map<UUID, Long> versions = projectIds.isEmpty()
+                ? Map.of()
+                : dataVersionRepository.findVersions(projectIds, scope).stream()
+                        .collect(Collectors.toMap(DataVersionRepository.ProjectVersion::getProjectId,
+                                DataVersionRepository.ProjectVersion::getVersion));
+
+        StringBuilder source = new StringBuilder()
+                .append(appUserDetails.getUserId()).append('|')
+                .append(scope).append('|');
+        for (UUID projectId : new TreeSet<>(projectIds)) {
+            source.append(projectId).append(':').append(versions.getOrDefault(projectId, 0L)).append(',');
+        }
+        for (Object discriminator : discriminators) {
+            source.append('|').append(discriminator);
+        }
+
+        return "\"" + sha256(source.toString()).substring(0, 32) + "\"";
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
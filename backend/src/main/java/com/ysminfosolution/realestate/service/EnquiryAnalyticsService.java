@@ -0,0 +1,353 @@
+package com.ysminfosolution.realestate.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ysminfosolution.realestate.dto.FunnelAnalyticsDTO;
+import com.ysminfosolution.realestate.dto.FunnelSegmentDTO;
+import com.ysminfosolution.realestate.error.exception.ApiException;
+import com.ysminfosolution.realestate.model.Enquiry;
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.EnquiryStatusTransition;
+import com.ysminfosolution.realestate.repository.EnquiryFunnelRepository;
+import com.ysminfosolution.realestate.repository.EnquiryFunnelRepository.DwellBucket;
+import com.ysminfosolution.realestate.repository.EnquiryFunnelRepository.FunnelTotal;
+import com.ysminfosolution.realestate.repository.EnquiryStatusTransitionRepository;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Conversion funnel and time-in-status analytics. Every status change is logged in enquiry_status_transition
+// * and folded into two daily rollups (funnel entries/exits and a dwell-days histogram) in the caller's
+// * transaction. The read side only aggregates the rollups, never the enquiries themselves.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class EnquiryAnalyticsService {
+
+    public static final int MAX_DWELL_DAYS = 365;
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private static final String INSERT_TRANSITION_SQL = """
+            INSERT INTO enquiry_status_transition (
+                id, enquiry_id, project_id, reference, from_status, to_status, seconds_in_previous_status,
+                transitioned_at
+            ) VALUES (?, ?, ?, ?, NULL, ?, NULL, ?)
+            """;
+
+    public record ImportedEnquiry(UUID enquiryId, UUID projectId, String reference) {
+    }
+
+    // ^ enteredAt is when the enquiry entered fromStatus (statusChangedAt, or createdAt for legacy rows)
+    public record BatchTransition(UUID enquiryId, UUID projectId, String reference, Status fromStatus,
+            LocalDateTime enteredAt, LocalDateTime createdAt) {
+    }
+
+    private record SegmentKey(UUID projectId, String reference) {
+    }
+
+    private record DwellKey(UUID projectId, String reference, Status status, int dwellDays) {
+    }
+
+    private record ExitKey(UUID projectId, String reference, Status status) {
+    }
+
+    private record CohortKey(UUID projectId, LocalDate createdDay, String reference, Status status) {
+    }
+
+    private final EnquiryStatusTransitionRepository transitionRepository;
+    private final EnquiryFunnelRepository funnelRepository;
+    private final AccessibleProjectResolver accessibleProjectResolver;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Enquiry enquiry) {
+        LocalDateTime now = LocalDateTime.now();
+        UUID projectId = enquiry.getProject().getProjectId();
+
+        transitionRepository.save(new EnquiryStatusTransition(null, enquiry.getEnquiryId(), projectId,
+                enquiry.getReference(), null, enquiry.getStatus(), null, now));
+        funnelRepository.adjustFunnel(projectId, now.toLocalDate(), enquiry.getReference(),
+                enquiry.getStatus().name(), 1, 1, 0);
+        funnelRepository.adjustCohort(projectId, now.toLocalDate(), enquiry.getReference(),
+                enquiry.getStatus().name(), 1);
+        enquiry.setStatusChangedAt(now);
+    }
+
+    // ^ Call before the new status is set on the enquiry
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Enquiry enquiry, Status from, Status to) {
+        if (from == to) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        UUID projectId = enquiry.getProject().getProjectId();
+        LocalDateTime enteredAt = enquiry.getStatusChangedAt() != null
+                ? enquiry.getStatusChangedAt()
+                : enquiry.getCreatedAt();
+        Long secondsInPrevious = enteredAt == null ? null : Math.max(0, Duration.between(enteredAt, now).toSeconds());
+
+        transitionRepository.save(new EnquiryStatusTransition(null, enquiry.getEnquiryId(), projectId,
+                enquiry.getReference(), from, to, secondsInPrevious, now));
+
+        if (from != null) {
+            funnelRepository.adjustFunnel(projectId, today, enquiry.getReference(), from.name(), 0, 0, 1);
+            if (secondsInPrevious != null) {
+                int dwellDays = (int) Math.min(MAX_DWELL_DAYS, Duration.ofSeconds(secondsInPrevious).toDays());
+                funnelRepository.incrementDwell(projectId, today, enquiry.getReference(), from.name(), dwellDays, 1);
+            }
+        }
+        funnelRepository.adjustFunnel(projectId, today, enquiry.getReference(), to.name(), 0, 1, 0);
+
+        if (enquiry.getCreatedAt() != null) {
+            LocalDate createdDay = enquiry.getCreatedAt().toLocalDate();
+            if (from != null) {
+                funnelRepository.adjustCohort(projectId, createdDay, enquiry.getReference(), from.name(), -1);
+            }
+            funnelRepository.adjustCohort(projectId, createdDay, enquiry.getReference(), to.name(), 1);
+        }
+        enquiry.setStatusChangedAt(now);
+    }
+
+    // ^ Moves the enquiry's creation (created count and cohort) from its current reference to the new one, so
+    // ^ each segment's rates stay over the enquiries it still holds; entries and exits stay where they happened.
+    // ^ Call before the new reference is set and before any status change in the same update
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReferenceChange(Enquiry enquiry, String to) {
+        String from = enquiry.getReference();
+        if (Objects.equals(from, to) || enquiry.getCreatedAt() == null
+                || !transitionRepository.existsByEnquiryIdAndFromStatusIsNull(enquiry.getEnquiryId())) {
+            // ~ Not counted yet: the seed job will count it under the reference it finds
+            return;
+        }
+
+        UUID projectId = enquiry.getProject().getProjectId();
+        LocalDate createdDay = enquiry.getCreatedAt().toLocalDate();
+        String status = enquiry.getStatus().name();
+
+        // ~ Any status row of the creation day holds the created count; ONGOING is where the seed puts it
+        funnelRepository.adjustFunnel(projectId, createdDay, from, Status.ONGOING.name(), -1, 0, 0);
+        funnelRepository.adjustFunnel(projectId, createdDay, to, Status.ONGOING.name(), 1, 0, 0);
+        funnelRepository.adjustCohort(projectId, createdDay, from, status, -1);
+        funnelRepository.adjustCohort(projectId, createdDay, to, status, 1);
+    }
+
+    // ~ Set-wise variant of recordTransition for batch status changes: one upsert per rollup key, not per enquiry
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(List<BatchTransition> transitions, Status to, LocalDateTime now) {
+        List<BatchTransition> changed = transitions.stream()
+                .filter(transition -> transition.fromStatus() != to)
+                .toList();
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        LocalDate today = now.toLocalDate();
+        Map<ExitKey, Long> exits = new LinkedHashMap<>();
+        Map<DwellKey, Long> dwells = new LinkedHashMap<>();
+        Map<SegmentKey, Long> entries = new LinkedHashMap<>();
+        Map<CohortKey, Long> cohortMoves = new LinkedHashMap<>();
+        List<EnquiryStatusTransition> rows = new ArrayList<>(changed.size());
+
+        for (BatchTransition transition : changed) {
+            Long secondsInPrevious = transition.enteredAt() == null
+                    ? null
+                    : Math.max(0, Duration.between(transition.enteredAt(), now).toSeconds());
+            rows.add(new EnquiryStatusTransition(null, transition.enquiryId(), transition.projectId(),
+                    transition.reference(), transition.fromStatus(), to, secondsInPrevious, now));
+
+            if (transition.fromStatus() != null) {
+                exits.merge(new ExitKey(transition.projectId(), transition.reference(), transition.fromStatus()), 1L,
+                        Long::sum);
+                if (secondsInPrevious != null) {
+                    int dwellDays = (int) Math.min(MAX_DWELL_DAYS, Duration.ofSeconds(secondsInPrevious).toDays());
+                    dwells.merge(new DwellKey(transition.projectId(), transition.reference(), transition.fromStatus(),
+                            dwellDays), 1L, Long::sum);
+                }
+            }
+            entries.merge(new SegmentKey(transition.projectId(), transition.reference()), 1L, Long::sum);
+
+            if (transition.createdAt() != null) {
+                LocalDate createdDay = transition.createdAt().toLocalDate();
+                if (transition.fromStatus() != null) {
+                    cohortMoves.merge(new CohortKey(transition.projectId(), createdDay, transition.reference(),
+                            transition.fromStatus()), -1L, Long::sum);
+                }
+                cohortMoves.merge(new CohortKey(transition.projectId(), createdDay, transition.reference(), to), 1L,
+                        Long::sum);
+            }
+        }
+
+        transitionRepository.saveAll(rows);
+        exits.forEach((key, count) -> funnelRepository.adjustFunnel(key.projectId(), today, key.reference(),
+                key.status().name(), 0, 0, count));
+        dwells.forEach((key, count) -> funnelRepository.incrementDwell(key.projectId(), today, key.reference(),
+                key.status().name(), key.dwellDays(), count));
+        entries.forEach((key, count) -> funnelRepository.adjustFunnel(key.projectId(), today, key.reference(),
+                to.name(), 0, count, 0));
+        cohortMoves.forEach((key, delta) -> funnelRepository.adjustCohort(key.projectId(), key.createdDay(),
+                key.reference(), key.status().name(), delta));
+    }
+
+    // ~ Bulk variant of recordCreated for the CSV import, which writes enquiries with JDBC and stamps no status_changed_at
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordImported(List<ImportedEnquiry> enquiries) {
+        if (enquiries.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp transitionedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_TRANSITION_SQL, enquiries, enquiries.size(), (ps, enquiry) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, enquiry.enquiryId());
+            ps.setObject(3, enquiry.projectId());
+            ps.setString(4, enquiry.reference());
+            ps.setString(5, Status.ONGOING.name());
+            ps.setTimestamp(6, transitionedAt);
+        });
+
+        enquiries.stream()
+                .collect(Collectors.groupingBy(enquiry -> new SegmentKey(enquiry.projectId(), enquiry.reference()),
+                        Collectors.counting()))
+                .forEach((segment, count) -> {
+                    funnelRepository.adjustFunnel(segment.projectId(), now.toLocalDate(), segment.reference(),
+                            Status.ONGOING.name(), count, count, 0);
+                    funnelRepository.adjustCohort(segment.projectId(), now.toLocalDate(), segment.reference(),
+                            Status.ONGOING.name(), count);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public FunnelAnalyticsDTO getFunnel(AppUserDetails appUserDetails, UUID projectId, String reference,
+            LocalDate from, LocalDate to) {
+
+        log.info("\n");
+        log.info("Method: getFunnel");
+
+        LocalDate rangeTo = to == null ? LocalDate.now() : to;
+        LocalDate rangeFrom = from == null ? rangeTo.minusDays(DEFAULT_RANGE_DAYS) : from;
+        if (rangeFrom.isAfter(rangeTo)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectId != null) {
+            if (!projectIds.contains(projectId)) {
+                throw new AccessDeniedException("User does not have access to this project");
+            }
+            projectIds = Set.of(projectId);
+        }
+        if (projectIds.isEmpty()) {
+            return new FunnelAnalyticsDTO(rangeFrom, rangeTo, toSegment(null, List.of(), List.of()), List.of());
+        }
+
+        String referenceFilter = reference == null || reference.isBlank() ? null : reference.trim();
+        List<FunnelTotal> totals = funnelRepository.findFunnelTotals(projectIds, rangeFrom, rangeTo, referenceFilter);
+        List<DwellBucket> buckets = funnelRepository.findDwellBuckets(projectIds, rangeFrom, rangeTo, referenceFilter);
+
+        Map<SegmentKey, List<FunnelTotal>> totalsBySegment = totals.stream()
+                .collect(Collectors.groupingBy(row -> new SegmentKey(row.getProjectId(), row.getReference())));
+        Map<SegmentKey, List<DwellBucket>> bucketsBySegment = buckets.stream()
+                .collect(Collectors.groupingBy(row -> new SegmentKey(row.getProjectId(), row.getReference())));
+
+        List<FunnelSegmentDTO> segments = new ArrayList<>();
+        for (Map.Entry<SegmentKey, List<FunnelTotal>> entry : totalsBySegment.entrySet()) {
+            segments.add(toSegment(entry.getKey(), entry.getValue(),
+                    bucketsBySegment.getOrDefault(entry.getKey(), List.of())));
+        }
+        segments.sort(Comparator.comparingLong(FunnelSegmentDTO::created).reversed()
+                .thenComparing(FunnelSegmentDTO::reference));
+
+        return new FunnelAnalyticsDTO(rangeFrom, rangeTo, toSegment(null, totals, buckets), segments);
+    }
+
+    private FunnelSegmentDTO toSegment(SegmentKey key, List<FunnelTotal> totals, List<DwellBucket> buckets) {
+        long created = 0;
+        Map<Status, Long> entered = new EnumMap<>(Status.class);
+        Map<Status, Long> exited = new EnumMap<>(Status.class);
+        Map<Status, Long> cohort = new EnumMap<>(Status.class);
+        for (FunnelTotal row : totals) {
+            created += row.getCreatedCount();
+            entered.merge(row.getStatus(), row.getEnteredCount(), Long::sum);
+            exited.merge(row.getStatus(), row.getExitedCount(), Long::sum);
+            if (row.getCohortCount() != 0) {
+                cohort.merge(row.getStatus(), row.getCohortCount(), Long::sum);
+            }
+        }
+
+        Map<Status, TreeMap<Integer, Long>> histograms = new EnumMap<>(Status.class);
+        for (DwellBucket bucket : buckets) {
+            histograms.computeIfAbsent(bucket.getStatus(), status -> new TreeMap<>())
+                    .merge(bucket.getDwellDays(), bucket.getExitCount(), Long::sum);
+        }
+        Map<Status, Double> medians = new LinkedHashMap<>();
+        histograms.forEach((status, histogram) -> medians.put(status, median(histogram)));
+
+        return new FunnelSegmentDTO(
+                key == null ? null : key.projectId(),
+                key == null ? null : key.reference(),
+                created,
+                entered,
+                exited,
+                cohort,
+                // ? Rates over the enquiries created in the window, by their current status (never above 1)
+                rate(cohort.getOrDefault(Status.BOOKED, 0L), created),
+                rate(cohort.getOrDefault(Status.CANCELLED, 0L), created),
+                medians);
+    }
+
+    // ~ Median of a days -> count histogram; the mean of the two middle values when the count is even
+    private Double median(TreeMap<Integer, Long> histogram) {
+        long count = histogram.values().stream().mapToLong(Long::longValue).sum();
+        if (count == 0) {
+            return null;
+        }
+
+        long lowerIndex = (count - 1) / 2;
+        long upperIndex = count / 2;
+        Integer lower = null;
+        Integer upper = null;
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : histogram.entrySet()) {
+            seen += bucket.getValue();
+            if (lower == null && seen > lowerIndex) {
+                lower = bucket.getKey();
+            }
+            if (seen > upperIndex) {
+                upper = bucket.getKey();
+                break;
+            }
+        }
+        return (lower + upper) / 2.0;
+    }
+
+    private Double rate(long part, long whole) {
+        return whole == 0 ? null : (double) part / whole;
+    }
+}
@@ -0,0 +1,324 @@
+package com.ysminfosolution.realestate.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.extern.slf4j.Slf4j;
+
+// * Exports are streamed straight from a forward-only JDBC cursor into the response,
+// * so memory stays flat no matter how many enquiries the org has.
+@Service
+@Slf4j
+public class EnquiryExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    // ^ Rows pulled from the server per round trip; Postgres only honours it inside a transaction
+    private static final int FETCH_SIZE = 1000;
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String FORMULA_TRIGGERS = "=+-@\t\r";
+
+    private static final String ENQUIRY_EXPORT_SQL = """
+            SELECT
+                e.enquiry_id,
+                p.project_name,
+                e.lead_name,
+                e.lead_mobile_number,
+                e.lead_landline_number,
+                e.lead_email,
+                e.lead_city,
+                e.lead_address,
+                e.lead_occupation,
+                e.lead_company,
+                e.property_type,
+                e.property,
+                e.area,
+                e.budget,
+                e.reference,
+                e.reference_name,
+                e.status,
+                e.remark,
+                e.created_at,
+                f.follow_up_next_date,
+                ln.follow_up_date_time  AS last_follow_up_at,
+                ln.tag                  AS last_follow_up_tag,
+                ln.body                 AS last_follow_up_body,
+                u.full_name             AS last_follow_up_by
+            FROM enquiries e
+            JOIN projects p ON p.project_id = e.project_id
+            LEFT JOIN follow_up f ON f.enquiry_id = e.enquiry_id AND f.is_deleted = false
+            LEFT JOIN LATERAL (
+                SELECT n.follow_up_date_time, n.tag, n.body, n.user_id
+                FROM follow_up_node n
+                WHERE n.follow_up_id = f.follow_up_id
+                  AND n.is_deleted = false
+                ORDER BY n.follow_up_date_time DESC
+                LIMIT 1
+            ) ln ON true
+            LEFT JOIN users u ON u.user_id = ln.user_id
+            WHERE e.is_deleted = false
+              AND p.is_deleted = false
+              AND e.project_id IN (:projectIds)
+            ORDER BY e.created_at, e.enquiry_id
+            """;
+
+    private static final String FOLLOW_UP_EXPORT_SQL = """
+            SELECT
+                f.follow_up_id,
+                e.enquiry_id,
+                p.project_name,
+                e.lead_name,
+                e.lead_mobile_number,
+                e.status,
+                f.follow_up_next_date,
+                n.follow_up_date_time,
+                n.tag,
+                n.body,
+                u.full_name AS agent_name
+            FROM follow_up f
+            JOIN enquiries e ON e.enquiry_id = f.enquiry_id
+            JOIN projects p ON p.project_id = e.project_id
+            JOIN follow_up_node n ON n.follow_up_id = f.follow_up_id AND n.is_deleted = false
+            LEFT JOIN users u ON u.user_id = n.user_id
+            WHERE f.is_deleted = false
+              AND e.is_deleted = false
+              AND p.is_deleted = false
+              AND e.project_id IN (:projectIds)
+            ORDER BY f.follow_up_id, n.follow_up_date_time
+            """;
+
+    private static final List<String> ENQUIRY_COLUMNS = List.of(
+            "enquiryId", "projectName", "leadName", "leadMobileNumber", "leadLandlineNumber", "leadEmail",
+            "leadCity", "leadAddress", "leadOccupation", "leadCompany", "propertyType", "property", "area", "budget",
+            "reference", "referenceName", "status", "remark", "createdAt", "followUpNextDate", "lastFollowUpAt",
+            "lastFollowUpTag", "lastFollowUpBody", "lastFollowUpBy");
+
+    private static final List<String> FOLLOW_UP_COLUMNS = List.of(
+            "followUpId", "enquiryId", "projectName", "leadName", "leadMobileNumber", "enquiryStatus",
+            "followUpNextDate", "followUpDateTime", "tag", "body", "agentName");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AccessibleProjectResolver accessibleProjectResolver;
+    private final ObjectMapper objectMapper;
+
+    public EnquiryExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            AccessibleProjectResolver accessibleProjectResolver, ObjectMapper objectMapper) {
+
+        JdbcTemplate streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streamingJdbcTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.accessibleProjectResolver = accessibleProjectResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody exportEnquiries(AppUserDetails appUserDetails, Format format) {
+
+        log.info("\n");
+        log.info("Method: exportEnquiries");
+
+        // ^ Resolved on the request thread; the body itself runs after the controller has returned
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        return stream(ENQUIRY_EXPORT_SQL, projectIds, ENQUIRY_COLUMNS, format, this::mapEnquiryRow);
+    }
+
+    public StreamingResponseBody exportFollowUps(AppUserDetails appUserDetails, Format format) {
+
+        log.info("\n");
+        log.info("Method: exportFollowUps");
+
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        return stream(FOLLOW_UP_EXPORT_SQL, projectIds, FOLLOW_UP_COLUMNS, format, this::mapFollowUpRow);
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        List<Object> map(ResultSet rs) throws SQLException;
+    }
+
+    private StreamingResponseBody stream(String sql, Set<UUID> projectIds, List<String> columns, Format format,
+            RowMapper rowMapper) {
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+            if (format == Format.CSV) {
+                writeCsvLine(writer, columns);
+            }
+
+            if (!projectIds.isEmpty()) {
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql,
+                        new MapSqlParameterSource("projectIds", projectIds),
+                        new RowCallbackHandler() {
+
+                            private int rows = 0;
+
+                            @Override
+                            public void processRow(ResultSet rs) throws SQLException {
+                                List<Object> values = rowMapper.map(rs);
+                                try {
+                                    if (format == Format.CSV) {
+                                        writeCsvLine(writer, values);
+                                    } else {
+                                        writeJsonLine(writer, columns, values);
+                                    }
+                                    if (++rows % FLUSH_EVERY_ROWS == 0) {
+                                        writer.flush();
+                                    }
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            }
+                        }));
+            }
+
+            writer.flush();
+        };
+    }
+
+    private List<Object> mapEnquiryRow(ResultSet rs) throws SQLException {
+        return Arrays.asList(
+                rs.getObject("enquiry_id"),
+                rs.getString("project_name"),
+                rs.getString("lead_name"),
+                rs.getString("lead_mobile_number"),
+                rs.getString("lead_landline_number"),
+                rs.getString("lead_email"),
+                rs.getString("lead_city"),
+                rs.getString("lead_address"),
+                rs.getString("lead_occupation"),
+                rs.getString("lead_company"),
+                toPropertyType(rs.getObject("property_type")),
+                rs.getString("property"),
+                rs.getObject("area"),
+                rs.getString("budget"),
+                rs.getString("reference"),
+                rs.getString("reference_name"),
+                rs.getString("status"),
+                rs.getString("remark"),
+                toText(rs.getTimestamp("created_at")),
+                rs.getString("follow_up_next_date"),
+                toText(rs.getTimestamp("last_follow_up_at")),
+                rs.getString("last_follow_up_tag"),
+                rs.getString("last_follow_up_body"),
+                rs.getString("last_follow_up_by"));
+    }
+
+    private List<Object> mapFollowUpRow(ResultSet rs) throws SQLException {
+        return Arrays.asList(
+                rs.getObject("follow_up_id"),
+                rs.getObject("enquiry_id"),
+                rs.getString("project_name"),
+                rs.getString("lead_name"),
+                rs.getString("lead_mobile_number"),
+                rs.getString("status"),
+                rs.getString("follow_up_next_date"),
+                toText(rs.getTimestamp("follow_up_date_time")),
+                rs.getString("tag"),
+                rs.getString("body"),
+                rs.getString("agent_name"));
+    }
+
+    // ! Enquiry.propertyType has no @Enumerated, so Hibernate persists it as the ordinal
+    private String toPropertyType(Object ordinal) {
+        if (ordinal instanceof Number number) {
+            return PropertyType.values()[number.intValue()].name();
+        }
+        return ordinal == null ? null : ordinal.toString();
+    }
+
+    private String toText(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+
+    private void writeJsonLine(Writer writer, List<String> columns, List<Object> values) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = values.get(i);
+            row.put(columns.get(i), value instanceof UUID ? value.toString() : value);
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(toCsvCell(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private String toCsvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+
+        // ! Spreadsheet apps execute text cells starting with = + - @ as formulas, also behind a leading tab or CR
+        // ! (OWASP CSV injection). Numbers are left alone so negative values stay numeric
+        if (!(value instanceof Number) && !text.isEmpty() && FORMULA_TRIGGERS.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
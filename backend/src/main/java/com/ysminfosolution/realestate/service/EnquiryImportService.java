@@ -0,0 +1,482 @@
+package com.ysminfosolution.realestate.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ysminfosolution.realestate.dto.EnquiryImportReportDTO;
+import com.ysminfosolution.realestate.dto.EnquiryImportRowErrorDTO;
+import com.ysminfosolution.realestate.dto.NewEnquiryDTO;
+import com.ysminfosolution.realestate.error.exception.ApiException;
+import com.ysminfosolution.realestate.model.Enquiry;
+import com.ysminfosolution.realestate.model.Enquiry.DuplicatePolicy;
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
+import com.ysminfosolution.realestate.model.OutboxEvent;
+import com.ysminfosolution.realestate.model.Project;
+import com.ysminfosolution.realestate.repository.EnquiryRepository;
+import com.ysminfosolution.realestate.repository.ProjectRepository;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.util.BudgetParser;
+import com.ysminfosolution.realestate.util.CsvReader;
+import com.ysminfosolution.realestate.util.LeadFingerprint;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+// * Bulk lead import: validates every row up front, resolves all referenced projects in one query
+// * and writes enquiries, follow-ups and first follow-up nodes with JDBC batches, one transaction per chunk.
+// * A failing chunk is reported row by row and does not undo the chunks before it.
+@Service
+@Slf4j
+public class EnquiryImportService {
+
+    public static final int MAX_ROWS = 20_000;
+    private static final int CHUNK_SIZE = 500;
+    private static final int DUPLICATE_LOOKUP_SIZE = 1000;
+
+    private static final String FIRST_FOLLOW_UP_TEXT = "First FollowUp";
+
+    private static final String INSERT_ENQUIRY_SQL = """
+            INSERT INTO enquiries (
+                enquiry_id, project_id, property_type, property, area, budget, reference, reference_name,
+                lead_name, lead_mobile_number, lead_landline_number, lead_email, lead_city, lead_address,
+                lead_occupation, lead_company, lead_mobile_fingerprint, lead_email_fingerprint, budget_min, budget_max,
+                status, remark, created_at, updated_at, is_deleted
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NULL, ?, ?, false)
+            """;
+
+    private static final String INSERT_FOLLOW_UP_SQL = """
+            INSERT INTO follow_up (
+                follow_up_id, enquiry_id, follow_up_next_date, description, last_node_id, last_node_at,
+                last_node_user_name, created_at, updated_at, is_deleted
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+
+    private static final String INSERT_FOLLOW_UP_NODE_SQL = """
+            INSERT INTO follow_up_node (
+                follow_up_node_id, follow_up_date_time, body, tag, follow_up_id, user_id, created_at, updated_at,
+                is_deleted
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+
+    private static final String INSERT_AGENDA_SQL = """
+            INSERT INTO follow_up_agenda (follow_up_id, user_id, project_id, due_date, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final List<String> COLUMNS = List.of(
+            "leadName", "leadMobileNumber", "leadLandlineNumber", "leadEmail", "leadCity", "leadAddress",
+            "leadOccupation", "leadCompany", "projectId", "propertyType", "property", "area", "budget",
+            "reference", "referenceName");
+
+    private record ParsedRow(int row, NewEnquiryDTO enquiry) {
+    }
+
+    private record PreparedRow(int row, NewEnquiryDTO enquiry, String mobileFingerprint, String emailFingerprint,
+            UUID enquiryId, UUID followUpId, UUID nodeId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ProjectRepository projectRepository;
+    private final EnquiryRepository enquiryRepository;
+    private final ProjectAuthorizationService projectAuthorizationService;
+    private final Validator validator;
+    private final EnquiryStatusCountService enquiryStatusCountService;
+    private final OutboxService outboxService;
+    private final EnquiryAnalyticsService enquiryAnalyticsService;
+
+    public EnquiryImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ProjectRepository projectRepository, EnquiryRepository enquiryRepository,
+            ProjectAuthorizationService projectAuthorizationService, Validator validator,
+            EnquiryStatusCountService enquiryStatusCountService, OutboxService outboxService,
+            EnquiryAnalyticsService enquiryAnalyticsService) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        // ! Controllers are @Transactional, so each chunk needs its own transaction to commit independently
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.projectRepository = projectRepository;
+        this.enquiryRepository = enquiryRepository;
+        this.projectAuthorizationService = projectAuthorizationService;
+        this.validator = validator;
+        this.enquiryStatusCountService = enquiryStatusCountService;
+        this.outboxService = outboxService;
+        this.enquiryAnalyticsService = enquiryAnalyticsService;
+    }
+
+    public EnquiryImportReportDTO importEnquiries(MultipartFile file, DuplicatePolicy duplicatePolicy,
+            AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: importEnquiries");
+
+        if (file == null || file.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Import file is empty");
+        }
+        if (duplicatePolicy == DuplicatePolicy.MERGE) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "MERGE duplicate policy is not supported for imports");
+        }
+
+        List<EnquiryImportRowErrorDTO> errors = new ArrayList<>();
+        List<ParsedRow> parsedRows = parse(file, errors);
+        int totalRows = parsedRows.size() + errors.size();
+
+        // ^ Every project referenced by the file, loaded and authorized once
+        Set<UUID> projectIds = parsedRows.stream()
+                .map(parsedRow -> parsedRow.enquiry().projectId())
+                .collect(Collectors.toSet());
+        Map<UUID, Project> projects = projectIds.isEmpty()
+                ? Map.of()
+                : projectRepository.findAllByProjectIdInAndIsDeletedFalse(projectIds).stream()
+                        .filter(project -> project.getOrganization().getOrgId().equals(appUserDetails.getOrgId()))
+                        .filter(project -> projectAuthorizationService.isAuthorized(appUserDetails, project))
+                        .collect(Collectors.toMap(Project::getProjectId, Function.identity()));
+
+        List<PreparedRow> preparedRows = new ArrayList<>();
+        for (ParsedRow parsedRow : parsedRows) {
+            if (!projects.containsKey(parsedRow.enquiry().projectId())) {
+                errors.add(new EnquiryImportRowErrorDTO(parsedRow.row(), "Project not found or not accessible"));
+                continue;
+            }
+            preparedRows.add(new PreparedRow(parsedRow.row(), parsedRow.enquiry(),
+                    LeadFingerprint.mobile(parsedRow.enquiry().leadMobileNumber()),
+                    LeadFingerprint.email(parsedRow.enquiry().leadEmail()),
+                    UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+        }
+
+        if (duplicatePolicy == DuplicatePolicy.REJECT) {
+            preparedRows = rejectDuplicates(preparedRows, appUserDetails.getOrgId(), errors);
+        }
+
+        UUID userId = UUID.fromString(appUserDetails.getUserId());
+        int importedRows = 0;
+
+        for (int from = 0; from < preparedRows.size(); from += CHUNK_SIZE) {
+            List<PreparedRow> chunk = preparedRows.subList(from, Math.min(from + CHUNK_SIZE, preparedRows.size()));
+            try {
+                chunkTransaction.executeWithoutResult(status -> {
+                    insertChunk(chunk, userId, appUserDetails.getFullName());
+                    outboxService.recordAll(toOutboxEvents(chunk, appUserDetails.getOrgId()));
+                    chunk.stream()
+                            .collect(Collectors.groupingBy(row -> row.enquiry().projectId(), Collectors.counting()))
+                            .forEach((projectId, count) -> enquiryStatusCountService
+                                    .recordCreated(projectId, Enquiry.Status.ONGOING, count));
+                    enquiryAnalyticsService.recordImported(chunk.stream()
+                            .map(row -> new EnquiryAnalyticsService.ImportedEnquiry(row.enquiryId(),
+                                    row.enquiry().projectId(), row.enquiry().reference()))
+                            .toList());
+                });
+                importedRows += chunk.size();
+            } catch (RuntimeException e) {
+                log.error("Enquiry import chunk starting at row {} failed: {}", chunk.get(0).row(), e.getMessage());
+                for (PreparedRow preparedRow : chunk) {
+                    errors.add(new EnquiryImportRowErrorDTO(preparedRow.row(), "Could not be saved"));
+                }
+            }
+        }
+
+        errors.sort((e1, e2) -> Integer.compare(e1.row(), e2.row()));
+        log.info("Enquiry import finished: {} of {} rows imported", importedRows, totalRows);
+
+        return new EnquiryImportReportDTO(totalRows, importedRows, totalRows - importedRows, errors);
+    }
+
+    private List<OutboxService.PendingEvent> toOutboxEvents(List<PreparedRow> chunk, UUID orgId) {
+        LocalDate nextFollowUpDate = LocalDate.now().plusDays(3);
+        List<OutboxService.PendingEvent> events = new ArrayList<>(chunk.size() * 2);
+
+        for (PreparedRow row : chunk) {
+            UUID projectId = row.enquiry().projectId();
+            events.add(new OutboxService.PendingEvent(OutboxEvent.Type.ENQUIRY_CREATED, orgId, projectId,
+                    row.enquiryId(), Map.of("status", Enquiry.Status.ONGOING)));
+            events.add(new OutboxService.PendingEvent(OutboxEvent.Type.FOLLOW_UP_NODE_ADDED, orgId, projectId,
+                    row.followUpId(), Map.of("followUpNodeId", row.nodeId(), "enquiryId", row.enquiryId(),
+                            "followUpNextDate", nextFollowUpDate)));
+        }
+        return events;
+    }
+
+    // ^ Drops rows whose lead already exists in the organization or appeared earlier in the same file
+    private List<PreparedRow> rejectDuplicates(List<PreparedRow> preparedRows, UUID orgId,
+            List<EnquiryImportRowErrorDTO> errors) {
+
+        Map<String, List<UUID>> existingByMobile = new HashMap<>();
+        Map<String, List<UUID>> existingByEmail = new HashMap<>();
+
+        for (int from = 0; from < preparedRows.size(); from += DUPLICATE_LOOKUP_SIZE) {
+            List<PreparedRow> batch = preparedRows.subList(from,
+                    Math.min(from + DUPLICATE_LOOKUP_SIZE, preparedRows.size()));
+            Set<String> mobileFingerprints = batch.stream().map(PreparedRow::mobileFingerprint)
+                    .filter(Objects::nonNull).collect(Collectors.toSet());
+            Set<String> emailFingerprints = batch.stream().map(PreparedRow::emailFingerprint)
+                    .filter(Objects::nonNull).collect(Collectors.toSet());
+
+            for (EnquiryRepository.LeadFingerprintMatch match : enquiryRepository
+                    .findLeadFingerprintMatches(orgId, mobileFingerprints, emailFingerprints)) {
+                if (match.getLeadMobileFingerprint() != null) {
+                    existingByMobile.computeIfAbsent(match.getLeadMobileFingerprint(), k -> new ArrayList<>())
+                            .add(match.getEnquiryId());
+                }
+                if (match.getLeadEmailFingerprint() != null) {
+                    existingByEmail.computeIfAbsent(match.getLeadEmailFingerprint(), k -> new ArrayList<>())
+                            .add(match.getEnquiryId());
+                }
+            }
+        }
+
+        Map<String, Integer> seenMobile = new HashMap<>();
+        Map<String, Integer> seenEmail = new HashMap<>();
+        List<PreparedRow> accepted = new ArrayList<>();
+
+        for (PreparedRow preparedRow : preparedRows) {
+            Set<UUID> existing = new LinkedHashSet<>();
+            existing.addAll(existingByMobile.getOrDefault(preparedRow.mobileFingerprint(), List.of()));
+            existing.addAll(existingByEmail.getOrDefault(preparedRow.emailFingerprint(), List.of()));
+
+            if (!existing.isEmpty()) {
+                errors.add(new EnquiryImportRowErrorDTO(preparedRow.row(), "Duplicate lead, existing enquiries: "
+                        + existing.stream().map(UUID::toString).collect(Collectors.joining(", "))));
+                continue;
+            }
+
+            Integer earlierRow = seenMobile.get(preparedRow.mobileFingerprint());
+            if (earlierRow == null) {
+                earlierRow = seenEmail.get(preparedRow.emailFingerprint());
+            }
+            if (earlierRow != null) {
+                errors.add(new EnquiryImportRowErrorDTO(preparedRow.row(), "Duplicate lead of row " + earlierRow));
+                continue;
+            }
+
+            if (preparedRow.mobileFingerprint() != null) {
+                seenMobile.put(preparedRow.mobileFingerprint(), preparedRow.row());
+            }
+            if (preparedRow.emailFingerprint() != null) {
+                seenEmail.put(preparedRow.emailFingerprint(), preparedRow.row());
+            }
+            accepted.add(preparedRow);
+        }
+
+        return accepted;
+    }
+
+    private void insertChunk(List<PreparedRow> chunk, UUID userId, String userFullName) {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date nextFollowUpDate = Date.valueOf(LocalDate.now().plusDays(3));
+
+        jdbcTemplate.batchUpdate(INSERT_ENQUIRY_SQL, chunk, chunk.size(), (ps, row) -> {
+            NewEnquiryDTO dto = row.enquiry();
+            ps.setObject(1, row.enquiryId());
+            ps.setObject(2, dto.projectId());
+            // ! Enquiry.propertyType has no @Enumerated, so the column holds the ordinal
+            ps.setShort(3, (short) dto.propertyType().ordinal());
+            ps.setString(4, dto.property());
+            ps.setDouble(5, dto.area());
+            ps.setString(6, dto.budget());
+            ps.setString(7, dto.reference());
+            ps.setString(8, dto.referenceName());
+            ps.setString(9, dto.leadName());
+            ps.setString(10, dto.leadMobileNumber());
+            ps.setString(11, dto.leadLandlineNumber());
+            ps.setString(12, dto.leadEmail());
+            ps.setString(13, dto.leadCity());
+            ps.setString(14, dto.leadAddress());
+            ps.setString(15, dto.leadOccupation());
+            ps.setString(16, dto.leadCompany());
+            ps.setString(17, row.mobileFingerprint());
+            ps.setString(18, row.emailFingerprint());
+            BudgetParser.BudgetRange budgetRange = BudgetParser.parse(dto.budget());
+            ps.setObject(19, budgetRange == null ? null : budgetRange.min(), Types.BIGINT);
+            ps.setObject(20, budgetRange == null ? null : budgetRange.max(), Types.BIGINT);
+            ps.setString(21, Enquiry.Status.ONGOING.name());
+            ps.setTimestamp(22, now);
+            ps.setTimestamp(23, now);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_FOLLOW_UP_SQL, chunk, chunk.size(), (ps, row) -> {
+            ps.setObject(1, row.followUpId());
+            ps.setObject(2, row.enquiryId());
+            ps.setDate(3, nextFollowUpDate);
+            ps.setString(4, FIRST_FOLLOW_UP_TEXT);
+            ps.setObject(5, row.nodeId());
+            ps.setTimestamp(6, now);
+            ps.setString(7, userFullName);
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_FOLLOW_UP_NODE_SQL, chunk, chunk.size(), (ps, row) -> {
+            ps.setObject(1, row.nodeId());
+            ps.setTimestamp(2, now);
+            ps.setString(3, FIRST_FOLLOW_UP_TEXT);
+            ps.setString(4, FIRST_FOLLOW_UP_TEXT);
+            ps.setObject(5, row.followUpId());
+            ps.setObject(6, userId);
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_AGENDA_SQL, chunk, chunk.size(), (ps, row) -> {
+            ps.setObject(1, row.followUpId());
+            ps.setObject(2, userId);
+            ps.setObject(3, row.enquiry().projectId());
+            ps.setDate(4, nextFollowUpDate);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    private List<ParsedRow> parse(MultipartFile file, List<EnquiryImportRowErrorDTO> errors) {
+
+        List<ParsedRow> parsedRows = new ArrayList<>();
+
+        try (InputStreamReader input = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            CsvReader csvReader = new CsvReader(input);
+
+            List<String> header = csvReader.readRecord();
+            if (header == null) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Import file has no header row");
+            }
+            Map<String, Integer> columnIndex = indexHeader(header);
+
+            int row = 1;
+            List<String> record;
+            while ((record = csvReader.readRecord()) != null) {
+                row++;
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                if (parsedRows.size() + errors.size() >= MAX_ROWS) {
+                    throw new ApiException(HttpStatus.BAD_REQUEST,
+                            "Import file exceeds the limit of " + MAX_ROWS + " rows");
+                }
+
+                try {
+                    NewEnquiryDTO dto = toDto(record, columnIndex);
+                    Set<ConstraintViolation<NewEnquiryDTO>> violations = validator.validate(dto);
+                    if (violations.isEmpty()) {
+                        parsedRows.add(new ParsedRow(row, dto));
+                    } else {
+                        errors.add(new EnquiryImportRowErrorDTO(row, violations.stream()
+                                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining("; "))));
+                    }
+                } catch (IllegalArgumentException e) {
+                    errors.add(new EnquiryImportRowErrorDTO(row, e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Could not read import file");
+        }
+
+        return parsedRows;
+    }
+
+    private Map<String, Integer> indexHeader(List<String> header) {
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // ^ Excel likes to prepend a UTF-8 BOM to the first header cell
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columnIndex.put(name, i);
+        }
+
+        List<String> missing = COLUMNS.stream()
+                .filter(column -> !column.equals("leadLandlineNumber"))
+                .filter(column -> !columnIndex.containsKey(column.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Missing columns: " + String.join(", ", missing));
+        }
+        return columnIndex;
+    }
+
+    private NewEnquiryDTO toDto(List<String> record, Map<String, Integer> columnIndex) {
+        return new NewEnquiryDTO(
+                value(record, columnIndex, "leadName"),
+                value(record, columnIndex, "leadMobileNumber"),
+                value(record, columnIndex, "leadLandlineNumber"),
+                value(record, columnIndex, "leadEmail"),
+                value(record, columnIndex, "leadCity"),
+                value(record, columnIndex, "leadAddress"),
+                value(record, columnIndex, "leadOccupation"),
+                value(record, columnIndex, "leadCompany"),
+                parseUuid(value(record, columnIndex, "projectId")),
+                parsePropertyType(value(record, columnIndex, "propertyType")),
+                value(record, columnIndex, "property"),
+                parseArea(value(record, columnIndex, "area")),
+                value(record, columnIndex, "budget"),
+                value(record, columnIndex, "reference"),
+                value(record, columnIndex, "referenceName"));
+    }
+
+    // ^ Trimmed like every other String the API accepts (StringTrimmerDeserializer), blank becomes null
+    private String value(List<String> record, Map<String, Integer> columnIndex, String column) {
+        Integer index = columnIndex.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private UUID parseUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("projectId: invalid UUID");
+        }
+    }
+
+    private PropertyType parsePropertyType(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (PropertyType propertyType : PropertyType.values()) {
+            if (propertyType.name().equalsIgnoreCase(value)) {
+                return propertyType;
+            }
+        }
+        throw new IllegalArgumentException("propertyType: must be one of Residential, Commercial");
+    }
+
+    private Double parseArea(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("area: must be a number");
+        }
+    }
+}
@@ -1,33 +1,55 @@
 package com.ysminfosolution.realestate.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusDTO;
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusReportDTO;
+import com.ysminfosolution.realestate.dto.ChangeSetDTO;
+import com.ysminfosolution.realestate.dto.CursorPageDTO;
 import com.ysminfosolution.realestate.dto.EnquiryBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.EnquiryResponseDTO;
+import com.ysminfosolution.realestate.dto.EnquirySearchResultDTO;
 import com.ysminfosolution.realestate.dto.NewEnquiryDTO;
 import com.ysminfosolution.realestate.dto.UpdateEnquiryDTO;
 import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.EnquiryPropertyOptions;
+import com.ysminfosolution.realestate.model.Enquiry.DuplicatePolicy;
 import com.ysminfosolution.realestate.model.Enquiry.Status;
 import com.ysminfosolution.realestate.security.AppUserDetails;
 
 
 public interface EnquiryService {
 
-    ResponseEntity<EnquiryResponseDTO> createNewEnquiry(NewEnquiryDTO newEnquiryDTO, AppUserDetails appUserDetails);
+    ResponseEntity<EnquiryResponseDTO> createNewEnquiry(NewEnquiryDTO newEnquiryDTO, DuplicatePolicy duplicatePolicy,
+            AppUserDetails appUserDetails);
+
+    ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiries(AppUserDetails appUserDetails, String budgetFrom,
+            String budgetTo);
+
+    ResponseEntity<CursorPageDTO<EnquiryResponseDTO>> getEnquiryPage(AppUserDetails appUserDetails, UUID projectId,
+            Status status, String reference, LocalDate createdFrom, LocalDate createdTo, String cursor, Integer size);
 
-    ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiries(AppUserDetails appUserDetails);
+    ResponseEntity<ChangeSetDTO<EnquiryResponseDTO>> getEnquiryChanges(AppUserDetails appUserDetails,
+            LocalDateTime since, String cursor, Integer size);
 
-    ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiriesForProject(UUID projectId, AppUserDetails appUserDetails);
+    ResponseEntity<List<EnquirySearchResultDTO>> searchEnquiries(AppUserDetails appUserDetails, String query,
+            Integer limit);
+
+    ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiriesForProject(UUID projectId, String budgetFrom,
+            String budgetTo, AppUserDetails appUserDetails);
 
     ResponseEntity<EnquiryResponseDTO> getById(@NonNull UUID enquiryId, AppUserDetails appUserDetails);
 
     ResponseEntity<String> cancelEnquiryWithRemark(@NonNull UUID enquiryId, String remark, AppUserDetails appUserDetails);
 
-    ResponseEntity<Set<EnquiryBasicInfoDTO>> getListOfEnquiryBasicInfo(AppUserDetails appUserDetails);
+    ResponseEntity<Set<EnquiryBasicInfoDTO>> getListOfEnquiryBasicInfo(AppUserDetails appUserDetails, Status status,
+            LocalDate createdFrom, LocalDate createdTo);
 
     ResponseEntity<String> updateEnquiry(@NonNull UUID enquiryId, UpdateEnquiryDTO updateEnquiryDTO,
             AppUserDetails appUserDetails);
@@ -36,5 +58,8 @@ public interface EnquiryService {
             AppUserDetails appUserDetails);
 
     ResponseEntity<String> changeEnquiryStatus(@NonNull UUID enquiryId, Status status, AppUserDetails appUserDetails);
+
+    ResponseEntity<BatchEnquiryStatusReportDTO> changeEnquiryStatusBatch(BatchEnquiryStatusDTO batchDTO,
+            AppUserDetails appUserDetails);
     
 }
@@ -0,0 +1,104 @@
+package com.ysminfosolution.realestate.service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.repository.ProjectEnquiryStatusCountRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Keeps project_enquiry_status_count in step with enquiry writes. Every method joins the caller's
+// * transaction, so a rolled back enquiry change also rolls back its counter adjustment.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class EnquiryStatusCountService {
+
+    public record StatusCounts(Map<Status, Long> byStatus) {
+
+        public static final StatusCounts EMPTY = new StatusCounts(Map.of());
+
+        public long of(Status status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+
+        public long total() {
+            return byStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private final ProjectEnquiryStatusCountRepository statusCountRepository;
+
+    public void recordCreated(UUID projectId, Status status, long count) {
+        if (count > 0) {
+            statusCountRepository.adjustCount(projectId, status.name(), count);
+        }
+    }
+
+    public void recordTransition(UUID projectId, Status from, Status to) {
+        recordTransitions(projectId, from, to, 1);
+    }
+
+    public void recordTransitions(UUID projectId, Status from, Status to, long count) {
+        if (from == to || count <= 0) {
+            return;
+        }
+        if (from != null) {
+            statusCountRepository.adjustCount(projectId, from.name(), -count);
+        }
+        statusCountRepository.adjustCount(projectId, to.name(), count);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, StatusCounts> getCounts(Collection<UUID> projectIds) {
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Map<Status, Long>> counts = new HashMap<>();
+        for (ProjectEnquiryStatusCountRepository.ProjectStatusCount row : statusCountRepository
+                .findCountsByProjectIds(projectIds)) {
+            counts.computeIfAbsent(row.getProjectId(), id -> new EnumMap<>(Status.class))
+                    .put(row.getStatus(), row.getEnquiryCount());
+        }
+
+        Map<UUID, StatusCounts> result = new HashMap<>();
+        counts.forEach((projectId, byStatus) -> result.put(projectId, new StatusCounts(byStatus)));
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public StatusCounts getCounts(UUID projectId) {
+        return getCounts(List.of(projectId)).getOrDefault(projectId, StatusCounts.EMPTY);
+    }
+
+    // ^ Recomputes every counter from the enquiries table, repairing any drift
+    public int rebuild() {
+
+        log.info("\n");
+        log.info("Method: rebuild");
+
+        statusCountRepository.lockForRebuild();
+        statusCountRepository.deleteAllCounts();
+        int rows = statusCountRepository.insertCountsFromEnquiries();
+
+        log.info("Rebuilt {} project enquiry status counters", rows);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return statusCountRepository.count() == 0;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.ysminfosolution.realestate.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ysminfosolution.realestate.dto.FollowUpAgendaDTO;
+import com.ysminfosolution.realestate.dto.FollowUpAgendaDayDTO;
+import com.ysminfosolution.realestate.dto.FollowUpBasicInfoDTO;
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.FollowUp;
+import com.ysminfosolution.realestate.repository.FollowUpAgendaRepository;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * "My agenda": follow-ups whose latest node the user wrote, bucketed by next follow-up date.
+// * follow_up_agenda is written alongside the node/date change, so reads never touch follow_up_node
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class FollowUpAgendaService {
+
+    public static final int AGENDA_DAYS = 14;
+
+    private static final Set<Status> CLOSED_STATUSES = Set.of(Status.CANCELLED, Status.BOOKED);
+
+    private final FollowUpAgendaRepository followUpAgendaRepository;
+    private final AccessibleProjectResolver accessibleProjectResolver;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTouched(FollowUp followUp, UUID userId) {
+        followUpAgendaRepository.upsert(followUp.getFollowUpId(), userId,
+                followUp.getEnquiry().getProject().getProjectId(), followUp.getFollowUpNextDate(),
+                LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDueDateMoved(FollowUp followUp) {
+        followUpAgendaRepository.moveDueDate(followUp.getFollowUpId(), followUp.getFollowUpNextDate(),
+                LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public FollowUpAgendaDTO getAgenda(AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: getAgenda");
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(AGENDA_DAYS - 1);
+
+        // ^ One bucket per day up front, so empty days are still listed and each row lands in O(1)
+        Map<LocalDate, List<FollowUpBasicInfoDTO>> buckets = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            buckets.put(day, new ArrayList<>());
+        }
+
+        // ? Access can be revoked after a node was written, so entries are still scoped to the current projects
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (!projectIds.isEmpty()) {
+            followUpAgendaRepository.findAgenda(UUID.fromString(appUserDetails.getUserId()), from, to, projectIds,
+                    CLOSED_STATUSES)
+                    .forEach(row -> buckets.get(row.getDueDate()).add(new FollowUpBasicInfoDTO(
+                            row.getFollowUpId(),
+                            row.getLeadName(),
+                            row.getLeadMobileNumber(),
+                            row.getDueDate(),
+                            row.getAgentName(),
+                            row.getDescription())));
+        }
+
+        List<FollowUpAgendaDayDTO> days = new ArrayList<>(buckets.size());
+        buckets.forEach((day, followUps) -> days.add(new FollowUpAgendaDayDTO(day, followUps)));
+
+        return new FollowUpAgendaDTO(from, to, days);
+    }
+}
@@ -1,14 +1,21 @@
 package com.ysminfosolution.realestate.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
 
+import com.ysminfosolution.realestate.dto.ChangeSetDTO;
+import com.ysminfosolution.realestate.dto.CursorPageDTO;
 import com.ysminfosolution.realestate.dto.FollowUpBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.FollowUpNodeRequestDTO;
+import com.ysminfosolution.realestate.dto.FollowUpNodeResponseDTO;
 import com.ysminfosolution.realestate.dto.FollowUpResponseDTO;
+import com.ysminfosolution.realestate.dto.NewEnquiryDTO;
 import com.ysminfosolution.realestate.model.Enquiry;
 import com.ysminfosolution.realestate.security.AppUserDetails;
 
@@ -16,6 +23,8 @@ public interface FollowUpService {
 
     boolean createFollowUpForEnquiry(Enquiry enquiry, AppUserDetails appUserDetails);
 
+    void recordRepeatEnquiry(Enquiry enquiry, NewEnquiryDTO newEnquiryDTO, AppUserDetails appUserDetails);
+
     ResponseEntity<Set<FollowUpResponseDTO>> getAllFollowUpsForProject(UUID projectId, AppUserDetails appUserDetails);
 
     ResponseEntity<FollowUpResponseDTO> getFollowUpForEnquiry(UUID enquiryId, AppUserDetails appUserDetails);
@@ -27,9 +36,23 @@ public interface FollowUpService {
     ResponseEntity<String> updateNodeToFollowUp(UUID followUpId, UUID nodeId, FollowUpNodeRequestDTO nodeRequestDTO,
             AppUserDetails appUserDetails);
 
-    ResponseEntity<Set<FollowUpResponseDTO>> getAllFollowUps(AppUserDetails appUserDetails);
+    // ~ One keyset chunk of the org-wide listing, in followUpId order; each call runs in its own transaction
+    List<FollowUpResponseDTO> getFollowUpChunk(Set<UUID> projectIds, UUID afterFollowUpId, int size);
+
+    ResponseEntity<ChangeSetDTO<FollowUpResponseDTO>> getFollowUpChanges(AppUserDetails appUserDetails,
+            LocalDateTime since, String cursor, Integer size);
+
+    void markChangedForEnquiry(UUID enquiryId);
+
+    void markChangedForEnquiries(Collection<UUID> enquiryIds);
 
     ResponseEntity<Set<FollowUpBasicInfoDTO>> getAllRemainingFollowUpsWithinRange(AppUserDetails appUserDetails,
             LocalDate from, LocalDate to);
 
+    ResponseEntity<CursorPageDTO<FollowUpNodeResponseDTO>> getFollowUpNodePage(UUID followUpId, String cursor,
+            Integer size, AppUserDetails appUserDetails);
+
+    ResponseEntity<CursorPageDTO<FollowUpBasicInfoDTO>> getRemainingFollowUpPage(AppUserDetails appUserDetails,
+            LocalDate from, LocalDate to, String cursor, Integer size);
+
 }
@@ -0,0 +1,63 @@
+package com.ysminfosolution.realestate.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysminfosolution.realestate.dto.FollowUpResponseDTO;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Streams the org-wide follow-up list as one JSON array. Follow-ups are read in followUpId keyset chunks across all
+// * accessible projects at once (two queries per chunk: follow-ups with their lead, then their nodes), and each chunk is
+// * written and released before the next one is read, so heap use is bounded by the chunk size, not the org size.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FollowUpStreamService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final FollowUpService followUpService;
+    private final AccessibleProjectResolver accessibleProjectResolver;
+    private final ObjectMapper objectMapper;
+
+    public StreamingResponseBody streamAllFollowUps(AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: streamAllFollowUps");
+
+        // ^ Resolved on the request thread; the body itself runs after the controller has returned
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.writeStartArray();
+
+            UUID after = new UUID(0L, 0L);
+            while (!projectIds.isEmpty()) {
+                List<FollowUpResponseDTO> chunk = followUpService.getFollowUpChunk(projectIds, after, CHUNK_SIZE);
+                for (FollowUpResponseDTO followUp : chunk) {
+                    generator.writeObject(followUp);
+                }
+                generator.flush();
+
+                if (chunk.size() < CHUNK_SIZE) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1).followUpId();
+            }
+
+            generator.writeEndArray();
+            generator.flush();
+        };
+    }
+}
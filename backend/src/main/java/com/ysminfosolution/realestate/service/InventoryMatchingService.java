@@ -0,0 +1,315 @@
+package com.ysminfosolution.realestate.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ysminfosolution.realestate.dto.FlatMatchDTO;
+import com.ysminfosolution.realestate.dto.LeadMatchDTO;
+import com.ysminfosolution.realestate.error.exception.NotFoundException;
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
+import com.ysminfosolution.realestate.model.OutboxEvent;
+import com.ysminfosolution.realestate.model.Project;
+import com.ysminfosolution.realestate.repository.EnquiryRepository;
+import com.ysminfosolution.realestate.repository.EnquiryRepository.MatchableLeadRow;
+import com.ysminfosolution.realestate.repository.FlatRepository;
+import com.ysminfosolution.realestate.repository.FlatRepository.MatchableFlatRow;
+import com.ysminfosolution.realestate.resolver.ProjectResolver;
+import com.ysminfosolution.realestate.security.AppUserDetails;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Matches enquiry preferences (propertyType, property, area) against vacant flats, both ways.
+// * Every project gets an in-memory index, loaded on first use: vacant flats grouped by (type, property)
+// * and sorted by area, plus the open leads under the same keys. Outbox events keep it fresh:
+// * structure and booking changes reload the project's flats, enquiry changes patch a single lead.
+// ! Outbox events reach one node only, so on a cluster the TTL is what bounds staleness on the others
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class InventoryMatchingService implements OutboxEventSubscriber {
+
+    // ^ A flat matches when its area is within this fraction of the requested area (the "area bucket")
+    private static final double AREA_TOLERANCE = 0.10;
+    private static final Duration INDEX_TTL = Duration.ofMinutes(15);
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final Set<Status> CLOSED_STATUSES = EnumSet.of(Status.BOOKED, Status.CANCELLED);
+    private static final String ANY_PROPERTY = "*";
+
+    private final FlatRepository flatRepository;
+    private final EnquiryRepository enquiryRepository;
+    private final ProjectResolver projectResolver;
+    private final ProjectAuthorizationService projectAuthorizationService;
+
+    private final Map<UUID, ProjectIndex> indexes = new ConcurrentHashMap<>();
+
+    @Transactional(readOnly = true)
+    public List<FlatMatchDTO> getMatchingFlats(UUID enquiryId, Integer limit, AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: getMatchingFlats");
+
+        MatchableLeadRow lead = enquiryRepository.findLeadForMatching(enquiryId)
+                .filter(row -> !Boolean.TRUE.equals(row.getDeleted()))
+                .orElseThrow(() -> new NotFoundException("Enquiry not found"));
+        checkAccess(lead.getProjectId(), appUserDetails);
+
+        if (lead.getPropertyType() == null) {
+            return List.of();
+        }
+
+        ProjectIndex index = indexFor(lead.getProjectId());
+        Collection<NavigableMap<Double, List<FlatEntry>>> candidates = lead.getProperty() == null
+                ? index.flatsOfType(lead.getPropertyType())
+                : index.flats(new MatchKey(lead.getPropertyType(), normalizeProperty(lead.getProperty())));
+
+        List<FlatEntry> matches = new ArrayList<>();
+        for (NavigableMap<Double, List<FlatEntry>> byArea : candidates) {
+            NavigableMap<Double, List<FlatEntry>> window = lead.getArea() == null
+                    ? byArea
+                    : byArea.subMap(lowerBound(lead.getArea()), true, upperBound(lead.getArea()), true);
+            window.values().forEach(matches::addAll);
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble((FlatEntry flat) -> areaDifference(lead.getArea(), flat.area()))
+                        .thenComparing(FlatEntry::propertyNumber))
+                .limit(resolveLimit(limit))
+                .map(flat -> new FlatMatchDTO(
+                        flat.propertyId(),
+                        flat.propertyNumber(),
+                        flat.wingName(),
+                        flat.floorNo(),
+                        flat.propertyType(),
+                        flat.property(),
+                        flat.area(),
+                        lead.getArea() == null ? null : areaDifference(lead.getArea(), flat.area())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeadMatchDTO> getMatchingLeads(UUID propertyId, Integer limit, AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: getMatchingLeads");
+
+        MatchableFlatRow flat = flatRepository.findFlatForMatching(propertyId)
+                .orElseThrow(() -> new NotFoundException("Flat not found"));
+        checkAccess(flat.getProjectId(), appUserDetails);
+
+        if (flat.getPropertyType() == null || flat.getArea() == null) {
+            return List.of();
+        }
+
+        ProjectIndex index = indexFor(flat.getProjectId());
+        List<LeadEntry> candidates = new ArrayList<>();
+        candidates.addAll(index.leads(new MatchKey(flat.getPropertyType(), normalizeProperty(flat.getProperty()))));
+        candidates.addAll(index.leads(new MatchKey(flat.getPropertyType(), ANY_PROPERTY)));
+
+        return candidates.stream()
+                .filter(lead -> lead.area() == null
+                        || (flat.getArea() >= lowerBound(lead.area()) && flat.getArea() <= upperBound(lead.area())))
+                .sorted(Comparator.comparingDouble((LeadEntry lead) -> areaDifference(lead.area(), flat.getArea()))
+                        .thenComparing(LeadEntry::createdAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(resolveLimit(limit))
+                .map(lead -> new LeadMatchDTO(
+                        lead.enquiryId(),
+                        lead.leadName(),
+                        lead.leadMobileNumber(),
+                        lead.status(),
+                        lead.property(),
+                        lead.area(),
+                        lead.area() == null ? null : areaDifference(lead.area(), flat.getArea()),
+                        lead.createdAt()))
+                .toList();
+    }
+
+    @Override
+    public boolean supports(OutboxEvent.Type eventType) {
+        return switch (eventType) {
+            case STRUCTURE_CHANGED, BOOKING_CREATED, ENQUIRY_CREATED, ENQUIRY_UPDATED, ENQUIRY_STATUS_CHANGED -> true;
+            default -> false;
+        };
+    }
+
+    @Override
+    public void onEvent(OutboxEvent event) {
+        ProjectIndex index = indexes.get(event.getProjectId());
+        if (index == null) {
+            // ~ Not loaded on this node yet, the first lookup will read fresh data anyway
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case STRUCTURE_CHANGED, BOOKING_CREATED -> index.replaceFlats(loadVacantFlats(event.getProjectId()));
+            case ENQUIRY_CREATED, ENQUIRY_UPDATED, ENQUIRY_STATUS_CHANGED -> enquiryRepository
+                    .findLeadForMatching(event.getAggregateId())
+                    .ifPresentOrElse(index::putLead, () -> index.removeLead(event.getAggregateId()));
+            default -> {
+            }
+        }
+    }
+
+    private ProjectIndex indexFor(UUID projectId) {
+        ProjectIndex index = indexes.get(projectId);
+        if (index != null && !index.isExpired()) {
+            return index;
+        }
+
+        // ~ Two concurrent misses may both build; the later put wins and both results are equally fresh
+        ProjectIndex rebuilt = new ProjectIndex(loadVacantFlats(projectId));
+        enquiryRepository.findOpenLeadsForMatching(projectId, CLOSED_STATUSES).forEach(rebuilt::putLead);
+        indexes.put(projectId, rebuilt);
+        log.info("Matching index built for project {} ({} vacant flats)", projectId, rebuilt.flatCount());
+        return rebuilt;
+    }
+
+    private List<FlatEntry> loadVacantFlats(UUID projectId) {
+        return flatRepository.findVacantFlatsForMatching(projectId).stream()
+                .filter(row -> row.getPropertyType() != null && row.getArea() != null)
+                .map(row -> new FlatEntry(
+                        row.getPropertyId(),
+                        row.getPropertyNumber(),
+                        row.getWingName(),
+                        row.getFloorNo(),
+                        row.getPropertyType(),
+                        row.getProperty(),
+                        row.getArea()))
+                .toList();
+    }
+
+    private void checkAccess(UUID projectId, AppUserDetails appUserDetails) {
+        Project project = projectResolver.resolve(projectId);
+        projectAuthorizationService.checkProjectAccess(appUserDetails, project);
+    }
+
+    private static String normalizeProperty(String property) {
+        if (property == null) {
+            return ANY_PROPERTY;
+        }
+        String normalized = property.replaceAll("\\s", "").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? ANY_PROPERTY : normalized;
+    }
+
+    private static double lowerBound(double area) {
+        return area * (1 - AREA_TOLERANCE);
+    }
+
+    private static double upperBound(double area) {
+        return area * (1 + AREA_TOLERANCE);
+    }
+
+    private static double areaDifference(Double wanted, double actual) {
+        return wanted == null ? 0 : Math.abs(actual - wanted);
+    }
+
+    private static int resolveLimit(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private record MatchKey(PropertyType propertyType, String property) {
+    }
+
+    private record FlatEntry(UUID propertyId, String propertyNumber, String wingName, Short floorNo,
+            PropertyType propertyType, String property, double area) {
+    }
+
+    private record LeadEntry(UUID enquiryId, MatchKey key, String property, Double area, String leadName,
+            String leadMobileNumber, Status status, LocalDateTime createdAt) {
+    }
+
+    private static final class ProjectIndex {
+
+        private final Instant loadedAt = Instant.now();
+
+        // ^ Flats are swapped as a whole (immutable snapshot), leads are patched one at a time
+        private volatile Map<MatchKey, NavigableMap<Double, List<FlatEntry>>> flats = Map.of();
+        private final Map<UUID, LeadEntry> leadsById = new ConcurrentHashMap<>();
+        private final Map<MatchKey, Set<UUID>> leadIdsByKey = new ConcurrentHashMap<>();
+
+        ProjectIndex(List<FlatEntry> vacantFlats) {
+            replaceFlats(vacantFlats);
+        }
+
+        boolean isExpired() {
+            return loadedAt.plus(INDEX_TTL).isBefore(Instant.now());
+        }
+
+        int flatCount() {
+            return flats.values().stream()
+                    .mapToInt(byArea -> byArea.values().stream().mapToInt(List::size).sum())
+                    .sum();
+        }
+
+        void replaceFlats(List<FlatEntry> vacantFlats) {
+            Map<MatchKey, NavigableMap<Double, List<FlatEntry>>> grouped = vacantFlats.stream()
+                    .collect(Collectors.groupingBy(
+                            flat -> new MatchKey(flat.propertyType(), normalizeProperty(flat.property())),
+                            Collectors.groupingBy(FlatEntry::area, TreeMap::new, Collectors.toUnmodifiableList())));
+            flats = Map.copyOf(grouped);
+        }
+
+        Collection<NavigableMap<Double, List<FlatEntry>>> flats(MatchKey key) {
+            NavigableMap<Double, List<FlatEntry>> byArea = flats.get(key);
+            return byArea == null ? List.of() : List.of(byArea);
+        }
+
+        Collection<NavigableMap<Double, List<FlatEntry>>> flatsOfType(PropertyType propertyType) {
+            return flats.entrySet().stream()
+                    .filter(entry -> entry.getKey().propertyType() == propertyType)
+                    .map(Map.Entry::getValue)
+                    .toList();
+        }
+
+        List<LeadEntry> leads(MatchKey key) {
+            Set<UUID> ids = leadIdsByKey.get(key);
+            if (ids == null) {
+                return List.of();
+            }
+            return ids.stream().map(leadsById::get).filter(Objects::nonNull).toList();
+        }
+
+        void putLead(MatchableLeadRow row) {
+            removeLead(row.getEnquiryId());
+            if (Boolean.TRUE.equals(row.getDeleted()) || CLOSED_STATUSES.contains(row.getStatus())
+                    || row.getPropertyType() == null) {
+                return;
+            }
+
+            MatchKey key = new MatchKey(row.getPropertyType(), normalizeProperty(row.getProperty()));
+            leadsById.put(row.getEnquiryId(), new LeadEntry(row.getEnquiryId(), key, row.getProperty(), row.getArea(),
+                    row.getLeadName(), row.getLeadMobileNumber(), row.getStatus(), row.getCreatedAt()));
+            leadIdsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(row.getEnquiryId());
+        }
+
+        void removeLead(UUID enquiryId) {
+            LeadEntry previous = leadsById.remove(enquiryId);
+            if (previous != null) {
+                Set<UUID> ids = leadIdsByKey.get(previous.key());
+                if (ids != null) {
+                    ids.remove(enquiryId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ysminfosolution.realestate.service;
+
+import org.springframework.util.ClassUtils;
+
+import com.ysminfosolution.realestate.model.OutboxEvent;
+
+// Implemented by beans that react to committed domain changes (caches, counters, indexes).
+// Events arrive in outbox order; a thrown exception makes the dispatcher retry the event.
+// Delivery is tracked per subscriber: a retry skips subscribers whose delivery already committed. Work outside
+// the database (in-memory caches) can still be repeated after a crash before that commit, so it must be idempotent.
+public interface OutboxEventSubscriber {
+
+    default boolean supports(OutboxEvent.Type eventType) {
+        return true;
+    }
+
+    // ~ Key of the delivery records; must stay stable across restarts
+    default String subscriberName() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+
+    void onEvent(OutboxEvent event);
+
+}
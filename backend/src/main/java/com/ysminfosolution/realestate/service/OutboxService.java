@@ -0,0 +1,101 @@
+package com.ysminfosolution.realestate.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysminfosolution.realestate.error.exception.ApiException;
+import com.ysminfosolution.realestate.model.DataVersion.Scope;
+import com.ysminfosolution.realestate.model.OutboxEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Appends domain events to outbox_event. MANDATORY propagation: an event must only exist if the
+// * change it describes commits, so callers always record from inside their own transaction.
+// * Writers are not serialized: each row carries its writer's transaction id (write_txid) and the dispatcher only
+// * reads rows whose writer is older than every transaction still in flight (see OutboxEventRepository).
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    public record PendingEvent(OutboxEvent.Type type, UUID orgId, UUID projectId, UUID aggregateId,
+            Map<String, ?> payload) {
+    }
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_event (event_type, org_id, project_id, aggregate_id, payload, created_at, attempts)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataVersionService dataVersionService;
+
+    public void record(OutboxEvent.Type type, UUID orgId, UUID projectId, UUID aggregateId, Map<String, ?> payload) {
+        recordAll(List.of(new PendingEvent(type, orgId, projectId, aggregateId, payload)));
+    }
+
+    public void recordAll(List<PendingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.type().name());
+            ps.setObject(2, event.orgId());
+            ps.setObject(3, event.projectId());
+            ps.setObject(4, event.aggregateId());
+            ps.setString(5, toJson(event.payload()));
+            ps.setTimestamp(6, now);
+        });
+
+        bumpDataVersions(events);
+    }
+
+    // ^ Same transaction as the change, so a reader never sees the new version with the old data.
+    // ^ Projects in ascending order, like DataVersionService.bump, to keep lock order consistent
+    private void bumpDataVersions(List<PendingEvent> events) {
+        Map<UUID, Set<Scope>> scopesByProject = new TreeMap<>();
+        for (PendingEvent event : events) {
+            if (event.projectId() != null) {
+                scopesByProject.computeIfAbsent(event.projectId(), id -> EnumSet.noneOf(Scope.class))
+                        .addAll(scopesFor(event.type()));
+            }
+        }
+        scopesByProject.forEach((projectId, scopes) -> dataVersionService.bump(List.of(projectId), scopes));
+    }
+
+    private static Set<Scope> scopesFor(OutboxEvent.Type type) {
+        return switch (type) {
+            case ENQUIRY_CREATED, ENQUIRY_STATUS_CHANGED -> EnumSet.of(Scope.ENQUIRIES, Scope.FOLLOW_UPS, Scope.DASHBOARD);
+            case ENQUIRY_UPDATED -> EnumSet.of(Scope.ENQUIRIES, Scope.FOLLOW_UPS);
+            case FOLLOW_UP_NODE_ADDED, FOLLOW_UP_NODE_UPDATED -> EnumSet.of(Scope.FOLLOW_UPS);
+            case BOOKING_CREATED, STRUCTURE_CHANGED -> EnumSet.of(Scope.DASHBOARD);
+        };
+    }
+
+    private String toJson(Map<String, ?> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Error occured while recording change event");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ysminfosolution.realestate.service;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.ysminfosolution.realestate.model.BackgroundJob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Renders a project detail PDF and stores it in S3 under the org's jobs/ directory. Access was checked when
+// ^ the job was queued. One at a time: rendering holds a DB connection and a lot of memory
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProjectDetailPdfJobHandler implements BackgroundJobHandler {
+
+    private final BackgroundJobService backgroundJobService;
+    private final ProjectDetailPdfService projectDetailPdfService;
+    private final S3StorageService s3StorageService;
+
+    @Override
+    public BackgroundJob.Type type() {
+        return BackgroundJob.Type.PROJECT_DETAIL_PDF;
+    }
+
+    @Override
+    public String handle(BackgroundJob job) {
+        Map<String, String> payload = backgroundJobService.readPayload(job);
+        UUID projectId = UUID.fromString(payload.get("projectId"));
+        UUID policyId = UUID.fromString(payload.get("policyId"));
+
+        byte[] pdfBytes = projectDetailPdfService.renderProjectDetailPdf(projectId, policyId, job.getRequestedBy());
+
+        String key = job.getOrgId() + "/jobs/" + job.getJobId() + "/project-detail-" + projectId + ".pdf";
+        return s3StorageService.uploadBytes(key, pdfBytes, "application/pdf");
+    }
+}
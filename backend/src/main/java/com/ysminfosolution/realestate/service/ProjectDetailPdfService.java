@@ -2,6 +2,7 @@ package com.ysminfosolution.realestate.service;
 
 import java.util.UUID;
 
+import com.ysminfosolution.realestate.dto.BackgroundJobDTO;
 import com.ysminfosolution.realestate.security.AppUserDetails;
 
 public interface ProjectDetailPdfService {
@@ -10,4 +11,16 @@ public interface ProjectDetailPdfService {
             UUID projectId,
             UUID policyId,
             AppUserDetails user);
+
+    // ~ Checks access and queues the generation as a PROJECT_DETAIL_PDF background job
+    BackgroundJobDTO requestProjectDetailPdf(
+            UUID projectId,
+            UUID policyId,
+            AppUserDetails user);
+
+    // ~ Generation without the access check, for the background job that was authorized when queued
+    byte[] renderProjectDetailPdf(
+            UUID projectId,
+            UUID policyId,
+            String requestedBy);
 }
@@ -0,0 +1,35 @@
+package com.ysminfosolution.realestate.service;
+
+import org.springframework.stereotype.Service;
+
+import com.ysminfosolution.realestate.model.BackgroundJob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// ^ Removes a project's S3 directory (queued when a project creation is rolled back)
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProjectDirectoryCleanupJobHandler implements BackgroundJobHandler {
+
+    private final BackgroundJobService backgroundJobService;
+    private final S3StorageService s3StorageService;
+
+    @Override
+    public BackgroundJob.Type type() {
+        return BackgroundJob.Type.PROJECT_DIRECTORY_CLEANUP;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 2;
+    }
+
+    @Override
+    public String handle(BackgroundJob job) {
+        String prefix = backgroundJobService.readPayload(job).get("prefix");
+        s3StorageService.deleteDirectory(prefix);
+        return null;
+    }
+}
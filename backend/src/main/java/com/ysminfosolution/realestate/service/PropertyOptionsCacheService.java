@@ -0,0 +1,107 @@
+package com.ysminfosolution.realestate.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ysminfosolution.realestate.config.CacheConfig;
+import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.AreaOptions;
+import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.EnquiryPropertyOptions;
+import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.PropertyOption;
+import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.PropertyOptionsFlat;
+import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.PropertyTypeOption;
+import com.ysminfosolution.realestate.model.Floor.PropertyType;
+import com.ysminfosolution.realestate.repository.FloorRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// * Finished property-options tree per project. Only floors feed it, so FloorServiceImpl evicts
+// * the project's entry whenever it writes floors. Authorization stays with the caller.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PropertyOptionsCacheService {
+
+    private final FloorRepository floorRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfig.PROPERTY_OPTIONS, key = "#projectId")
+    @Transactional(readOnly = true)
+    public EnquiryPropertyOptions getPropertyOptions(UUID projectId) {
+
+        log.info("\n");
+        log.info("Method: getPropertyOptions (cache miss)");
+
+        Set<PropertyOptionsFlat> flatRows = floorRepository.getFlatPropertyOptions(projectId);
+
+        Map<PropertyType, Map<String, Map<Double, Long>>> grouped = flatRows.stream().collect(
+                Collectors.groupingBy(
+                        PropertyOptionsFlat::getPropertyType,
+                        Collectors.groupingBy(
+                                PropertyOptionsFlat::getProperty,
+                                Collectors.groupingBy(
+                                        PropertyOptionsFlat::getArea,
+                                        Collectors.summingLong(PropertyOptionsFlat::getQuantity)))));
+
+        Set<PropertyTypeOption> typeOptions = grouped.entrySet().stream()
+                .map(typeEntry -> {
+                    Set<PropertyOption> propertyOptions = typeEntry.getValue().entrySet().stream()
+                            .map(propEntry -> {
+                                Set<AreaOptions> areaOptions = propEntry.getValue().entrySet().stream()
+                                        .map(areaEntry -> new AreaOptions(areaEntry.getKey(), areaEntry.getValue()))
+                                        .collect(Collectors.toUnmodifiableSet());
+
+                                long propertiesAvailable = areaOptions.stream()
+                                        .mapToLong(AreaOptions::propertiesAvailable)
+                                        .sum();
+
+                                return new PropertyOption(propEntry.getKey(), areaOptions, propertiesAvailable);
+                            })
+                            .collect(Collectors.toUnmodifiableSet());
+
+                    long totalForType = propertyOptions.stream()
+                            .mapToLong(PropertyOption::propertiesAvailable)
+                            .sum();
+
+                    return new PropertyTypeOption(typeEntry.getKey(), propertyOptions, totalForType);
+                })
+                .collect(Collectors.toUnmodifiableSet());
+
+        long totalAvailable = typeOptions.stream()
+                .mapToLong(PropertyTypeOption::propertiesAvailable)
+                .sum();
+
+        return new EnquiryPropertyOptions(typeOptions, totalAvailable);
+    }
+
+    // ! Evicting before commit would let a concurrent reader cache the old floors again
+    public void evictAfterCommit(UUID projectId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(projectId);
+                }
+            });
+        } else {
+            evict(projectId);
+        }
+    }
+
+    private void evict(UUID projectId) {
+        Cache cache = cacheManager.getCache(CacheConfig.PROPERTY_OPTIONS);
+        if (cache != null) {
+            cache.evict(projectId);
+        }
+    }
+}
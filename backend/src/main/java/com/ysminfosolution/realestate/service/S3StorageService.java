@@ -1,14 +1,12 @@
 package com.ysminfosolution.realestate.service;
 
 import java.util.List;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.ysminfosolution.realestate.model.Project;
-import com.ysminfosolution.realestate.security.AppUserDetails;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.ResponseBytes;
@@ -68,42 +66,65 @@ public class S3StorageService {
         }
     }
 
-    public void deleteProjectDirectoryFromS3(Project project, AppUserDetails user) {
-
-        log.info("\n");
-        log.info("Method: deleteProjectDirectoryFromS3");
-
-        String prefix = user.getOrgId() + "/" + project.getProjectName() + "/";
-
+    public String uploadBytes(String key, byte[] bytes, String contentType) {
         try {
-            // 1. List all files under the prefix
-            ListObjectsV2Request listReq = ListObjectsV2Request.builder()
+            PutObjectRequest req = PutObjectRequest.builder()
                     .bucket(bucketName)
-                    .prefix(prefix)
+                    .key(key)
+                    .contentType(contentType)
                     .build();
 
-            ListObjectsV2Response listRes = s3Client.listObjectsV2(listReq);
+            s3Client.putObject(req, RequestBody.fromBytes(bytes));
 
-            if (listRes.contents().isEmpty()) {
-                log.info("No objects found under prefix {}", prefix);
-                return;
-            }
+            return key;
 
-            // 2. Prepare batch delete request
-            List<ObjectIdentifier> objectsToDelete = listRes.contents().stream()
-                    .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
-                    .toList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error uploading file to S3", e);
+        }
+    }
 
-            DeleteObjectsRequest deleteReq = DeleteObjectsRequest.builder()
-                    .bucket(bucketName)
-                    .delete(Delete.builder().objects(objectsToDelete).build())
-                    .build();
+    public String projectDirectoryPrefix(UUID orgId, String projectName) {
+        return orgId + "/" + projectName + "/";
+    }
 
-            // 3. Delete all objects
-            s3Client.deleteObjects(deleteReq);
+    // ~ Deletes every object under the prefix, one listing page (up to 1000 keys) per batch delete
+    public int deleteDirectory(String prefix) {
 
-            log.info("ROLLBACK STATUS : S3 Directory deleted successfully for projectId : {}",
-                    project.getProjectId());
+        log.info("\n");
+        log.info("Method: deleteDirectory");
+
+        int deleted = 0;
+        String continuationToken = null;
+
+        try {
+            do {
+                ListObjectsV2Request listReq = ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix(prefix)
+                        .continuationToken(continuationToken)
+                        .build();
+
+                ListObjectsV2Response listRes = s3Client.listObjectsV2(listReq);
+
+                if (!listRes.contents().isEmpty()) {
+                    List<ObjectIdentifier> objectsToDelete = listRes.contents().stream()
+                            .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
+                            .toList();
+
+                    DeleteObjectsRequest deleteReq = DeleteObjectsRequest.builder()
+                            .bucket(bucketName)
+                            .delete(Delete.builder().objects(objectsToDelete).build())
+                            .build();
+
+                    s3Client.deleteObjects(deleteReq);
+                    deleted += objectsToDelete.size();
+                }
+
+                continuationToken = Boolean.TRUE.equals(listRes.isTruncated()) ? listRes.nextContinuationToken() : null;
+            } while (continuationToken != null);
+
+            log.info("S3 Directory deleted. prefix={}, objects={}", prefix, deleted);
+            return deleted;
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete S3 directory with prefix: " + prefix, e);
@@ -0,0 +1,74 @@
+package com.ysminfosolution.realestate.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ysminfosolution.realestate.model.ScheduledJobLock.Outcome;
+import com.ysminfosolution.realestate.repository.ScheduledJobLockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// * Lease-based lock per scheduled job, so a job fires on exactly one instance when several run behind the load
+// * balancer. An instance that dies mid-run only blocks the job until its lease expires.
+@Slf4j
+@Service
+public class ScheduledJobLockService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScheduledJobLockRepository scheduledJobLockRepository;
+    private final TransactionTemplate lockTransaction;
+    private final String instanceId;
+
+    public ScheduledJobLockService(ScheduledJobLockRepository scheduledJobLockRepository,
+            PlatformTransactionManager transactionManager) {
+        this.scheduledJobLockRepository = scheduledJobLockRepository;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        // ! Lock bookkeeping must commit on its own, independent of the job's transactions
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // ^ JVM name is "pid@host"; the random suffix keeps two instances on one host apart
+        this.instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean tryAcquire(String jobName, long leaseSeconds) {
+        Integer acquired = lockTransaction.execute(status -> scheduledJobLockRepository.tryAcquire(jobName, instanceId,
+                leaseSeconds));
+        return acquired != null && acquired > 0;
+    }
+
+    // ^ False when the lease was lost (it expired before this renewal and another instance took the job)
+    public boolean renew(String jobName, long leaseSeconds) {
+        Integer renewed = lockTransaction.execute(status -> scheduledJobLockRepository.renew(jobName, instanceId,
+                leaseSeconds));
+        return renewed != null && renewed > 0;
+    }
+
+    public void release(String jobName, long minHoldSeconds, long durationMs, Throwable failure) {
+        String error = null;
+        if (failure != null) {
+            error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+            if (error.length() > MAX_ERROR_LENGTH) {
+                error = error.substring(0, MAX_ERROR_LENGTH);
+            }
+        }
+
+        String lastError = error;
+        Outcome outcome = failure == null ? Outcome.SUCCEEDED : Outcome.FAILED;
+        try {
+            Integer released = lockTransaction.execute(status -> scheduledJobLockRepository.release(jobName,
+                    instanceId, minHoldSeconds, durationMs, outcome.name(), lastError));
+            if (released == null || released == 0) {
+                log.error("Scheduled job lock {} was no longer held by this instance at release; run of {} ms ({}) "
+                        + "not recorded", jobName, durationMs, outcome);
+            }
+        } catch (RuntimeException e) {
+            // ? The lease still expires on its own, so a failed release only delays the next run
+            log.error("Could not release scheduled job lock {}: {}", jobName, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.ysminfosolution.realestate.service.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -14,6 +17,7 @@ import com.ysminfosolution.realestate.model.ClientUserInfo;
 import com.ysminfosolution.realestate.model.Enquiry;
 import com.ysminfosolution.realestate.model.Enquiry.Status;
 import com.ysminfosolution.realestate.model.Flat;
+import com.ysminfosolution.realestate.model.OutboxEvent;
 import com.ysminfosolution.realestate.model.Project;
 import com.ysminfosolution.realestate.repository.BookingRepository;
 import com.ysminfosolution.realestate.repository.ClientUserInfoRepository;
@@ -23,6 +27,9 @@ import com.ysminfosolution.realestate.repository.TaskRepository;
 import com.ysminfosolution.realestate.resolver.ProjectResolver;
 import com.ysminfosolution.realestate.security.AppUserDetails;
 import com.ysminfosolution.realestate.service.BookingService;
+import com.ysminfosolution.realestate.service.EnquiryAnalyticsService;
+import com.ysminfosolution.realestate.service.EnquiryStatusCountService;
+import com.ysminfosolution.realestate.service.OutboxService;
 import com.ysminfosolution.realestate.service.ProjectAuthorizationService;
 
 import lombok.RequiredArgsConstructor;
@@ -36,6 +43,9 @@ public class BookingServiceImpl implements BookingService {
 
     private final ProjectResolver projectResolver;
     private final ProjectAuthorizationService projectAuthorizationService;
+    private final EnquiryStatusCountService enquiryStatusCountService;
+    private final OutboxService outboxService;
+    private final EnquiryAnalyticsService enquiryAnalyticsService;
 
     private final ClientUserInfoRepository clientRepository;
     private final BookingRepository bookingRepository;
@@ -49,8 +59,9 @@ public class BookingServiceImpl implements BookingService {
         log.info("\n");
         log.info("Method: createNewBooking");
 
+        // ~ Locked: the enquiry's status counters are moved from the status read here
         Enquiry enquiry = newBookingDTO.enquiryId() == null ? null
-                : enquiryRepository.findById(newBookingDTO.enquiryId())
+                : enquiryRepository.findByIdForUpdate(newBookingDTO.enquiryId())
                         .orElseThrow(() -> new NotFoundException("Enquiry not found"));
 
         Flat flat = flatRepository.findByPropertyIdAndIsDeletedFalse(newBookingDTO.propertyId())
@@ -70,6 +81,11 @@ public class BookingServiceImpl implements BookingService {
         clientUserInfo = clientRepository.save(clientUserInfo);
 
         if (enquiry != null) {
+            enquiryStatusCountService.recordTransition(project.getProjectId(), enquiry.getStatus(), Status.BOOKED);
+            enquiryAnalyticsService.recordTransition(enquiry, enquiry.getStatus(), Status.BOOKED);
+            outboxService.record(OutboxEvent.Type.ENQUIRY_STATUS_CHANGED, appUserDetails.getOrgId(),
+                    project.getProjectId(), enquiry.getEnquiryId(),
+                    Map.of("from", enquiry.getStatus(), "to", Status.BOOKED));
             enquiry.setStatus(Status.BOOKED);
             taskRepository.deleteByFollowUp_Enquiry(enquiry);
             enquiryRepository.save(enquiry);
@@ -95,6 +111,12 @@ public class BookingServiceImpl implements BookingService {
 
         booking = bookingRepository.save(booking);
 
+        Map<String, Object> bookingPayload = new HashMap<>();
+        bookingPayload.put("propertyId", flat.getPropertyId());
+        bookingPayload.put("enquiryId", enquiry == null ? null : enquiry.getEnquiryId());
+        outboxService.record(OutboxEvent.Type.BOOKING_CREATED, appUserDetails.getOrgId(), project.getProjectId(),
+                booking.getBookingId(), bookingPayload);
+
         return ResponseEntity.ok(new BookingDTO(
                 booking.getBookingId(),
                 booking.getClient().getClientId(),
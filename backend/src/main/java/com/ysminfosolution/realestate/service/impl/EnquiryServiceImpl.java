@@ -1,11 +1,18 @@
 package com.ysminfosolution.realestate.service.impl;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
@@ -13,33 +20,44 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusDTO;
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusErrorDTO;
+import com.ysminfosolution.realestate.dto.BatchEnquiryStatusReportDTO;
+import com.ysminfosolution.realestate.dto.ChangeSetDTO;
+import com.ysminfosolution.realestate.dto.CursorPageDTO;
 import com.ysminfosolution.realestate.dto.EnquiryBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.EnquiryResponseDTO;
+import com.ysminfosolution.realestate.dto.EnquirySearchResultDTO;
 import com.ysminfosolution.realestate.dto.NewEnquiryDTO;
 import com.ysminfosolution.realestate.dto.UpdateEnquiryDTO;
-import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.AreaOptions;
 import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.EnquiryPropertyOptions;
-import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.PropertyOption;
-import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.PropertyOptionsFlat;
-import com.ysminfosolution.realestate.dto.enquiryPropertyOptions.PropertyTypeOption;
 import com.ysminfosolution.realestate.error.exception.ApiException;
+import com.ysminfosolution.realestate.error.exception.DuplicateEnquiryException;
 import com.ysminfosolution.realestate.error.exception.NotFoundException;
 import com.ysminfosolution.realestate.model.EmployeeUserInfo;
 import com.ysminfosolution.realestate.model.Enquiry;
+import com.ysminfosolution.realestate.model.Enquiry.DuplicatePolicy;
 import com.ysminfosolution.realestate.model.Enquiry.Status;
-import com.ysminfosolution.realestate.model.Floor.PropertyType;
+import com.ysminfosolution.realestate.model.OutboxEvent;
 import com.ysminfosolution.realestate.model.Project;
 import com.ysminfosolution.realestate.model.User;
 import com.ysminfosolution.realestate.repository.EmployeeUserInfoRepository;
 import com.ysminfosolution.realestate.repository.EnquiryRepository;
-import com.ysminfosolution.realestate.repository.FloorRepository;
-import com.ysminfosolution.realestate.repository.ProjectRepository;
 import com.ysminfosolution.realestate.repository.TaskRepository;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
 import com.ysminfosolution.realestate.resolver.ProjectResolver;
 import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.EnquiryAnalyticsService;
 import com.ysminfosolution.realestate.service.EnquiryService;
+import com.ysminfosolution.realestate.service.EnquiryStatusCountService;
 import com.ysminfosolution.realestate.service.FollowUpService;
+import com.ysminfosolution.realestate.service.OutboxService;
 import com.ysminfosolution.realestate.service.ProjectAuthorizationService;
+import com.ysminfosolution.realestate.service.PropertyOptionsCacheService;
+import com.ysminfosolution.realestate.util.BudgetParser;
+import com.ysminfosolution.realestate.util.ChangeFeed;
+import com.ysminfosolution.realestate.util.KeysetCursor;
+import com.ysminfosolution.realestate.util.LeadFingerprint;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -50,19 +68,28 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class EnquiryServiceImpl implements EnquiryService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     private final EnquiryRepository enquiryRepository;
-    private final ProjectRepository projectRepository;
     private final EmployeeUserInfoRepository employeeUserInfoRepository;
     private final TaskRepository taskRepository;
-    private final FloorRepository floorRepository;
 
     private final FollowUpService followUpService;
     private final ProjectAuthorizationService projectAuthorizationService;
+    private final EnquiryStatusCountService enquiryStatusCountService;
+    private final PropertyOptionsCacheService propertyOptionsCacheService;
+    private final OutboxService outboxService;
     private final ProjectResolver projectResolver;
+    private final AccessibleProjectResolver accessibleProjectResolver;
+    private final EnquiryAnalyticsService enquiryAnalyticsService;
 
     @Override
     public ResponseEntity<EnquiryResponseDTO> createNewEnquiry(NewEnquiryDTO newEnquiryDTO,
-            AppUserDetails appUserDetails) {
+            DuplicatePolicy duplicatePolicy, AppUserDetails appUserDetails) {
 
         log.info("\n");
         log.info("Method: createNewEnquiry");
@@ -70,13 +97,36 @@ public class EnquiryServiceImpl implements EnquiryService {
         Project project = projectResolver.resolve(newEnquiryDTO.projectId());
         projectAuthorizationService.checkProjectAccess(appUserDetails, project);
 
+        // ^ Same buyer enquiring again (any project of the organization)
+        if (duplicatePolicy != DuplicatePolicy.ALLOW) {
+            List<Enquiry> duplicates = enquiryRepository.findDuplicateLeads(appUserDetails.getOrgId(),
+                    LeadFingerprint.mobile(newEnquiryDTO.leadMobileNumber()),
+                    LeadFingerprint.email(newEnquiryDTO.leadEmail()));
+
+            if (!duplicates.isEmpty() && duplicatePolicy == DuplicatePolicy.MERGE) {
+                Enquiry existing = duplicates.stream()
+                        .filter(e -> e.getProject().getProjectId().equals(project.getProjectId()))
+                        .filter(e -> e.getStatus() != Status.CANCELLED && e.getStatus() != Status.BOOKED)
+                        .findFirst()
+                        .orElse(null);
+
+                if (existing != null) {
+                    followUpService.recordRepeatEnquiry(existing, newEnquiryDTO, appUserDetails);
+                    return ResponseEntity.ok(toResponseDTO(existing));
+                }
+                // ~ Only matches in other projects (or closed ones): a new interest, so create it
+            } else if (!duplicates.isEmpty()) {
+                throw new DuplicateEnquiryException(duplicates.stream().map(Enquiry::getEnquiryId).toList());
+            }
+        }
+
         Enquiry enquiry = new Enquiry();
         enquiry.setProject(project);
         applyLeadFields(enquiry, newEnquiryDTO);
         enquiry.setPropertyType(newEnquiryDTO.propertyType());
         enquiry.setProperty(newEnquiryDTO.property());
         enquiry.setArea(newEnquiryDTO.area());
-        enquiry.setBudget(newEnquiryDTO.budget());
+        applyBudget(enquiry, newEnquiryDTO.budget());
         enquiry.setReference(newEnquiryDTO.reference());
         enquiry.setReferenceName(newEnquiryDTO.referenceName());
         enquiry.setStatus(Status.ONGOING);
@@ -89,6 +139,11 @@ public class EnquiryServiceImpl implements EnquiryService {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Error occured while saving enquiry");
         }
 
+        enquiryStatusCountService.recordCreated(project.getProjectId(), Status.ONGOING, 1);
+        enquiryAnalyticsService.recordCreated(enquiry);
+        outboxService.record(OutboxEvent.Type.ENQUIRY_CREATED, appUserDetails.getOrgId(), project.getProjectId(),
+                enquiry.getEnquiryId(), Map.of("status", Status.ONGOING));
+
         if (!followUpService.createFollowUpForEnquiry(enquiry, appUserDetails)) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error occured while creating follow-up for enquiry");
@@ -99,12 +154,16 @@ public class EnquiryServiceImpl implements EnquiryService {
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiries(AppUserDetails appUserDetails) {
+    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiries(AppUserDetails appUserDetails, String budgetFrom,
+            String budgetTo) {
 
         log.info("Method: getAllEnquiries");
 
+        Long from = resolveBudgetBound(budgetFrom, "budgetFrom");
+        Long to = resolveBudgetBound(budgetTo, "budgetTo");
+
         if (appUserDetails.getRole().equals(User.Role.ADMIN)) {
-            return ResponseEntity.ok(enquiryRepository.findAllEnquiriesForOrg(appUserDetails.getOrgId()));
+            return ResponseEntity.ok(enquiryRepository.findAllEnquiriesForOrg(appUserDetails.getOrgId(), from, to));
         }
 
         if (appUserDetails.getRole().equals(User.Role.EMPLOYEE)) {
@@ -117,7 +176,7 @@ public class EnquiryServiceImpl implements EnquiryService {
                 return ResponseEntity.ok(Set.of());
             }
 
-            return ResponseEntity.ok(enquiryRepository.findAllEnquiriesForProjects(allocatedProjects));
+            return ResponseEntity.ok(enquiryRepository.findAllEnquiriesForProjects(allocatedProjects, from, to));
         }
 
         throw new AccessDeniedException("User does not have access to the enquiries");
@@ -125,21 +184,156 @@ public class EnquiryServiceImpl implements EnquiryService {
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiriesForProject(UUID projectId,
-            AppUserDetails appUserDetails) {
+    public ResponseEntity<CursorPageDTO<EnquiryResponseDTO>> getEnquiryPage(AppUserDetails appUserDetails,
+            UUID projectId, Status status, String reference, LocalDate createdFrom, LocalDate createdTo,
+            String cursor, Integer size) {
+
+        log.info("\n");
+        log.info("Method: getEnquiryPage");
+
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "createdFrom must not be after createdTo");
+        }
+
+        int pageSize = resolvePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime from = createdFrom == null ? null : createdFrom.atStartOfDay();
+        LocalDateTime to = createdTo == null ? null : createdTo.plusDays(1).atStartOfDay();
+        LocalDateTime cursorCreatedAt = after == null ? null : after.at();
+        UUID cursorEnquiryId = after == null ? null : after.id();
+
+        // ^ One extra row tells us whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<EnquiryResponseDTO> rows;
+
+        if (appUserDetails.getRole().equals(User.Role.ADMIN)) {
+            rows = enquiryRepository.findEnquiryPageForOrg(appUserDetails.getOrgId(), projectId, status, reference,
+                    from, to, cursorCreatedAt, cursorEnquiryId, limit);
+        } else if (appUserDetails.getRole().equals(User.Role.EMPLOYEE)) {
+            Set<Project> allocatedProjects = accessibleProjectResolver.resolve(appUserDetails);
+            if (allocatedProjects.isEmpty()) {
+                return ResponseEntity.ok(new CursorPageDTO<>(List.of(), null, false));
+            }
+
+            rows = enquiryRepository.findEnquiryPageForProjects(allocatedProjects, projectId, status, reference,
+                    from, to, cursorCreatedAt, cursorEnquiryId, limit);
+        } else {
+            throw new AccessDeniedException("User does not have access to the enquiries");
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<EnquiryResponseDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            EnquiryResponseDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.enquiryId()).encode();
+        }
+
+        return ResponseEntity.ok(new CursorPageDTO<>(items, nextCursor, hasMore));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ChangeSetDTO<EnquiryResponseDTO>> getEnquiryChanges(AppUserDetails appUserDetails,
+            LocalDateTime since, String cursor, Integer size) {
+
+        log.info("\n");
+        log.info("Method: getEnquiryChanges");
+
+        int pageSize = resolvePageSize(size);
+        KeysetCursor after = ChangeFeed.resume(cursor, since);
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectIds.isEmpty()) {
+            return ResponseEntity.ok(new ChangeSetDTO<>(List.of(), List.of(), projectIds, after.encode(), false));
+        }
+
+        List<EnquiryRepository.ChangedRow> rows = enquiryRepository.findChangedEnquiries(projectIds, after.at(),
+                after.id(), ChangeFeed.settledBefore(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<EnquiryRepository.ChangedRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<UUID> changedIds = page.stream()
+                .filter(row -> !Boolean.TRUE.equals(row.getDeleted()))
+                .map(EnquiryRepository.ChangedRow::getId)
+                .toList();
+        List<UUID> deletedIds = page.stream()
+                .filter(row -> Boolean.TRUE.equals(row.getDeleted()))
+                .map(EnquiryRepository.ChangedRow::getId)
+                .toList();
+
+        Map<UUID, EnquiryResponseDTO> dtoById = changedIds.isEmpty()
+                ? Map.of()
+                : enquiryRepository.findEnquiryResponsesByIds(changedIds).stream()
+                        .collect(Collectors.toMap(EnquiryResponseDTO::enquiryId, dto -> dto));
+        List<EnquiryResponseDTO> changed = changedIds.stream()
+                .map(dtoById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // ~ The cursor is returned even on the last page, it is the client's token for the next sync
+        KeysetCursor next = page.isEmpty()
+                ? after
+                : new KeysetCursor(page.get(page.size() - 1).getUpdatedAt(), page.get(page.size() - 1).getId());
+
+        return ResponseEntity.ok(new ChangeSetDTO<>(changed, deletedIds, projectIds, next.encode(), hasMore));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EnquirySearchResultDTO>> searchEnquiries(AppUserDetails appUserDetails, String query,
+            Integer limit) {
+
+        log.info("\n");
+        log.info("Method: searchEnquiries");
+
+        String term = query == null ? "" : query.trim().toLowerCase();
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "Search query must contain at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectIds.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        int resultLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        String escaped = escapeLikePattern(term);
+
+        List<EnquirySearchResultDTO> results = enquiryRepository
+                .searchLeads(projectIds, term, escaped + "%", "%" + escaped + "%", resultLimit)
+                .stream()
+                .map(row -> new EnquirySearchResultDTO(
+                        row.getEnquiryId(),
+                        row.getProjectId(),
+                        row.getProjectName(),
+                        row.getLeadName(),
+                        row.getLeadMobileNumber(),
+                        row.getLeadEmail(),
+                        row.getLeadCity(),
+                        row.getStatus(),
+                        row.getScore()))
+                .toList();
+
+        return ResponseEntity.ok(results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<Set<EnquiryResponseDTO>> getAllEnquiriesForProject(UUID projectId, String budgetFrom,
+            String budgetTo, AppUserDetails appUserDetails) {
 
         log.info("\n");
         log.info("Method: getAllEnquiriesForProject");
 
+        Long from = resolveBudgetBound(budgetFrom, "budgetFrom");
+        Long to = resolveBudgetBound(budgetTo, "budgetTo");
+
         Project project = projectResolver.resolve(projectId);
         projectAuthorizationService.checkProjectAccess(appUserDetails, project);
 
-        Set<EnquiryResponseDTO> enquiries = enquiryRepository.findAllByProject_ProjectIdAndIsDeletedFalse(projectId)
-                .stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toSet());
-
-        return ResponseEntity.ok(enquiries);
+        return ResponseEntity.ok(enquiryRepository.findAllEnquiriesForProject(projectId, from, to));
     }
 
     @Override
@@ -162,7 +356,7 @@ public class EnquiryServiceImpl implements EnquiryService {
         log.info("\n");
         log.info("Method: cancelEnquiryWithRemark");
 
-        Enquiry enquiry = findEnquiry(enquiryId);
+        Enquiry enquiry = findEnquiryForUpdate(enquiryId);
         projectAuthorizationService.checkProjectAccess(appUserDetails, enquiry.getProject());
 
         enquiry.setRemark(remark);
@@ -179,31 +373,25 @@ public class EnquiryServiceImpl implements EnquiryService {
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<Set<EnquiryBasicInfoDTO>> getListOfEnquiryBasicInfo(AppUserDetails appUserDetails) {
+    public ResponseEntity<Set<EnquiryBasicInfoDTO>> getListOfEnquiryBasicInfo(AppUserDetails appUserDetails,
+            Status status, LocalDate createdFrom, LocalDate createdTo) {
 
         log.info("\n");
         log.info("Method: getListOfEnquiryBasicInfo");
 
-        Set<Project> projects = resolveAccessibleProjects(appUserDetails);
-        Set<EnquiryBasicInfoDTO> basicInfoDTOs = new HashSet<>();
-
-        for (Project project : projects) {
-            Set<Enquiry> enquiries = enquiryRepository.findAllByProject_ProjectIdAndIsDeletedFalse(project.getProjectId());
-
-            for (Enquiry enquiry : enquiries) {
-                basicInfoDTOs.add(new EnquiryBasicInfoDTO(
-                        enquiry.getEnquiryId(),
-                        enquiry.getCreatedAt(),
-                        enquiry.getLeadName(),
-                        enquiry.getLeadMobileNumber(),
-                        project.getProjectId(),
-                        project.getProjectName(),
-                        enquiry.getBudget(),
-                        enquiry.getStatus()));
-            }
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "createdFrom must not be after createdTo");
         }
 
-        return ResponseEntity.ok(basicInfoDTOs);
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectIds.isEmpty()) {
+            return ResponseEntity.ok(Set.of());
+        }
+
+        LocalDateTime from = createdFrom == null ? null : createdFrom.atStartOfDay();
+        LocalDateTime to = createdTo == null ? null : createdTo.plusDays(1).atStartOfDay();
+
+        return ResponseEntity.ok(enquiryRepository.findEnquiryBasicInfoForProjects(projectIds, status, from, to));
     }
 
     @Override
@@ -213,16 +401,18 @@ public class EnquiryServiceImpl implements EnquiryService {
         log.info("\n");
         log.info("Method: updateEnquiry");
 
-        Enquiry enquiry = findEnquiry(enquiryId);
+        Enquiry enquiry = findEnquiryForUpdate(enquiryId);
         projectAuthorizationService.checkProjectAccess(appUserDetails, enquiry.getProject());
 
         applyLeadFields(enquiry, updateEnquiryDTO);
 
         if (updateEnquiryDTO.budget() != null) {
-            enquiry.setBudget(updateEnquiryDTO.budget());
+            applyBudget(enquiry, updateEnquiryDTO.budget());
         }
 
+        // ! Before applyStatusChange below: the funnel rollups are keyed by reference
         if (updateEnquiryDTO.reference() != null) {
+            enquiryAnalyticsService.recordReferenceChange(enquiry, updateEnquiryDTO.reference());
             enquiry.setReference(updateEnquiryDTO.reference());
         }
 
@@ -251,6 +441,9 @@ public class EnquiryServiceImpl implements EnquiryService {
         }
 
         enquiryRepository.save(enquiry);
+        followUpService.markChangedForEnquiry(enquiryId);
+        outboxService.record(OutboxEvent.Type.ENQUIRY_UPDATED, appUserDetails.getOrgId(),
+                enquiry.getProject().getProjectId(), enquiry.getEnquiryId(), Map.of());
 
         return ResponseEntity.ok("Enquiry Updated Successfully");
     }
@@ -267,46 +460,7 @@ public class EnquiryServiceImpl implements EnquiryService {
             throw new AccessDeniedException("User is not authorized to access this project");
         }
 
-        Set<PropertyOptionsFlat> flatRows = floorRepository.getFlatPropertyOptions(projectId);
-
-        Map<PropertyType, Map<String, Map<Double, Long>>> grouped = flatRows.stream().collect(
-                Collectors.groupingBy(
-                        PropertyOptionsFlat::getPropertyType,
-                        Collectors.groupingBy(
-                                PropertyOptionsFlat::getProperty,
-                                Collectors.groupingBy(
-                                        PropertyOptionsFlat::getArea,
-                                        Collectors.summingLong(PropertyOptionsFlat::getQuantity)))));
-
-        Set<PropertyTypeOption> typeOptions = grouped.entrySet().stream()
-                .map(typeEntry -> {
-                    Set<PropertyOption> propertyOptions = typeEntry.getValue().entrySet().stream()
-                            .map(propEntry -> {
-                                Set<AreaOptions> areaOptions = propEntry.getValue().entrySet().stream()
-                                        .map(areaEntry -> new AreaOptions(areaEntry.getKey(), areaEntry.getValue()))
-                                        .collect(Collectors.toSet());
-
-                                long propertiesAvailable = areaOptions.stream()
-                                        .mapToLong(AreaOptions::propertiesAvailable)
-                                        .sum();
-
-                                return new PropertyOption(propEntry.getKey(), areaOptions, propertiesAvailable);
-                            })
-                            .collect(Collectors.toSet());
-
-                    long totalForType = propertyOptions.stream()
-                            .mapToLong(PropertyOption::propertiesAvailable)
-                            .sum();
-
-                    return new PropertyTypeOption(typeEntry.getKey(), propertyOptions, totalForType);
-                })
-                .collect(Collectors.toSet());
-
-        long totalAvailable = typeOptions.stream()
-                .mapToLong(PropertyTypeOption::propertiesAvailable)
-                .sum();
-
-        return ResponseEntity.ok(new EnquiryPropertyOptions(typeOptions, totalAvailable));
+        return ResponseEntity.ok(propertyOptionsCacheService.getPropertyOptions(projectId));
     }
 
     @Override
@@ -316,7 +470,7 @@ public class EnquiryServiceImpl implements EnquiryService {
         log.info("\n");
         log.info("Method: changeEnquiryStatus");
 
-        Enquiry enquiry = findEnquiry(enquiryId);
+        Enquiry enquiry = findEnquiryForUpdate(enquiryId);
         projectAuthorizationService.checkProjectAccess(appUserDetails, enquiry.getProject());
 
         if (status == Status.CANCELLED && (enquiry.getRemark() == null || enquiry.getRemark().isBlank())) {
@@ -329,23 +483,119 @@ public class EnquiryServiceImpl implements EnquiryService {
         return ResponseEntity.ok("Enquiry Status Updated Successfully");
     }
 
+    // ^ Set-wise counterpart of changeEnquiryStatus: one access check, one UPDATE and one task DELETE for the whole batch.
+    // ^ IDs that are missing or outside the user's projects are reported individually, the rest are still applied
+    @Override
+    public ResponseEntity<BatchEnquiryStatusReportDTO> changeEnquiryStatusBatch(BatchEnquiryStatusDTO batchDTO,
+            AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: changeEnquiryStatusBatch");
+
+        Status status = batchDTO.status();
+        Set<UUID> requestedIds = new LinkedHashSet<>(batchDTO.enquiryIds());
+        // ! The "from" statuses below feed the counters and rollups, so no edit may land between read and UPDATE
+        enquiryRepository.lockForUpdate(requestedIds);
+        Map<UUID, EnquiryRepository.StatusChangeRow> rowsById = enquiryRepository.findStatusChangeRows(requestedIds)
+                .stream()
+                .collect(Collectors.toMap(EnquiryRepository.StatusChangeRow::getEnquiryId, row -> row));
+        Set<UUID> accessibleProjectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+
+        List<BatchEnquiryStatusErrorDTO> errors = new ArrayList<>();
+        List<EnquiryRepository.StatusChangeRow> toChange = new ArrayList<>();
+        int unchanged = 0;
+        for (UUID enquiryId : requestedIds) {
+            EnquiryRepository.StatusChangeRow row = rowsById.get(enquiryId);
+            if (row == null) {
+                errors.add(new BatchEnquiryStatusErrorDTO(enquiryId, "Enquiry not found"));
+            } else if (!row.getOrgId().equals(appUserDetails.getOrgId())
+                    || !accessibleProjectIds.contains(row.getProjectId())) {
+                errors.add(new BatchEnquiryStatusErrorDTO(enquiryId, "User does not have access to this enquiry"));
+            } else if (row.getStatus() == status) {
+                unchanged++;
+            } else {
+                toChange.add(row);
+            }
+        }
+
+        if (!toChange.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> changedIds = toChange.stream().map(EnquiryRepository.StatusChangeRow::getEnquiryId).toList();
+
+            enquiryRepository.updateStatusForIds(changedIds, status,
+                    status == Status.CANCELLED ? "Enquiry cancelled" : null, now);
+            if (status == Status.CANCELLED || status == Status.BOOKED) {
+                taskRepository.deleteByEnquiryIds(changedIds);
+            }
+
+            toChange.stream()
+                    .collect(Collectors.groupingBy(EnquiryRepository.StatusChangeRow::getProjectId,
+                            Collectors.groupingBy(EnquiryRepository.StatusChangeRow::getStatus, Collectors.counting())))
+                    .forEach((projectId, countsByStatus) -> countsByStatus.forEach((from, count) ->
+                            enquiryStatusCountService.recordTransitions(projectId, from, status, count)));
+
+            enquiryAnalyticsService.recordTransitions(toChange.stream()
+                    .map(row -> new EnquiryAnalyticsService.BatchTransition(row.getEnquiryId(), row.getProjectId(),
+                            row.getReference(), row.getStatus(),
+                            row.getStatusChangedAt() != null ? row.getStatusChangedAt() : row.getCreatedAt(),
+                            row.getCreatedAt()))
+                    .toList(), status, now);
+
+            outboxService.recordAll(toChange.stream()
+                    .map(row -> new OutboxService.PendingEvent(OutboxEvent.Type.ENQUIRY_STATUS_CHANGED,
+                            row.getOrgId(), row.getProjectId(), row.getEnquiryId(),
+                            Map.of("from", row.getStatus(), "to", status)))
+                    .toList());
+
+            followUpService.markChangedForEnquiries(changedIds);
+        }
+
+        log.info("Batch status change to {}: {} updated, {} unchanged, {} failed", status, toChange.size(), unchanged,
+                errors.size());
+
+        return ResponseEntity.ok(new BatchEnquiryStatusReportDTO(requestedIds.size(), toChange.size(), unchanged,
+                errors.size(), errors));
+    }
+
     private Enquiry findEnquiry(UUID enquiryId) {
         return enquiryRepository.findById(enquiryId)
                 .orElseThrow(() -> new NotFoundException("Enquiry not found"));
     }
 
-    private Set<Project> resolveAccessibleProjects(AppUserDetails appUserDetails) {
-        if (appUserDetails.getRole().equals(User.Role.ADMIN)) {
-            return projectRepository.findAllByOrganization_OrgIdAndIsDeletedFalse(appUserDetails.getOrgId());
-        }
+    // ~ For any path that may change the status: applyStatusChange takes the "from" status from this row
+    private Enquiry findEnquiryForUpdate(UUID enquiryId) {
+        return enquiryRepository.findByIdForUpdate(enquiryId)
+                .orElseThrow(() -> new NotFoundException("Enquiry not found"));
+    }
 
-        if (appUserDetails.getRole().equals(User.Role.EMPLOYEE)) {
-            return employeeUserInfoRepository.findByUser_UserId(UUID.fromString(appUserDetails.getUserId()))
-                    .orElseThrow(() -> new AccessDeniedException("Employee not found"))
-                    .getProjects();
+    private String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void applyBudget(Enquiry enquiry, String budget) {
+        BudgetParser.BudgetRange range = BudgetParser.parse(budget);
+        enquiry.setBudget(budget);
+        enquiry.setBudgetMin(range == null ? null : range.min());
+        enquiry.setBudgetMax(range == null ? null : range.max());
+    }
+
+    private Long resolveBudgetBound(String value, String parameterName) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Long amount = BudgetParser.parseAmount(value);
+        if (amount == null) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    parameterName + " must be an amount such as 5000000, 50L or 1.2Cr");
         }
+        return amount;
+    }
 
-        throw new AccessDeniedException("User does not have access to the enquiries");
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     private void applyLeadFields(Enquiry enquiry, NewEnquiryDTO newEnquiryDTO) {
@@ -357,6 +607,7 @@ public class EnquiryServiceImpl implements EnquiryService {
         enquiry.setLeadAddress(newEnquiryDTO.leadAddress());
         enquiry.setLeadOccupation(newEnquiryDTO.leadOccupation());
         enquiry.setLeadCompany(newEnquiryDTO.leadCompany());
+        applyLeadFingerprints(enquiry);
     }
 
     private void applyLeadFields(Enquiry enquiry, UpdateEnquiryDTO updateEnquiryDTO) {
@@ -384,9 +635,23 @@ public class EnquiryServiceImpl implements EnquiryService {
         if (updateEnquiryDTO.leadCompany() != null) {
             enquiry.setLeadCompany(updateEnquiryDTO.leadCompany());
         }
+        applyLeadFingerprints(enquiry);
+    }
+
+    private void applyLeadFingerprints(Enquiry enquiry) {
+        enquiry.setLeadMobileFingerprint(LeadFingerprint.mobile(enquiry.getLeadMobileNumber()));
+        enquiry.setLeadEmailFingerprint(LeadFingerprint.email(enquiry.getLeadEmail()));
     }
 
     private void applyStatusChange(Enquiry enquiry, Status status) {
+        Project project = enquiry.getProject();
+        enquiryStatusCountService.recordTransition(project.getProjectId(), enquiry.getStatus(), status);
+        enquiryAnalyticsService.recordTransition(enquiry, enquiry.getStatus(), status);
+        if (enquiry.getStatus() != status) {
+            outboxService.record(OutboxEvent.Type.ENQUIRY_STATUS_CHANGED, project.getOrganization().getOrgId(),
+                    project.getProjectId(), enquiry.getEnquiryId(), Map.of("from", enquiry.getStatus(), "to", status));
+        }
+
         switch (status) {
             case CANCELLED:
                 enquiry.setStatus(Status.CANCELLED);
@@ -422,6 +687,7 @@ public class EnquiryServiceImpl implements EnquiryService {
                 enquiry.getLeadOccupation(),
                 enquiry.getLeadCompany(),
                 enquiry.getStatus(),
-                enquiry.getRemark());
+                enquiry.getRemark(),
+                enquiry.getCreatedAt());
     }
 }
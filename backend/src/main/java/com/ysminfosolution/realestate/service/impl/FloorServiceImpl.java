@@ -1,6 +1,7 @@
 package com.ysminfosolution.realestate.service.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -10,10 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.ysminfosolution.realestate.dto.maincreationformdtos.FloorCreationDTO;
 import com.ysminfosolution.realestate.model.Floor;
+import com.ysminfosolution.realestate.model.OutboxEvent;
+import com.ysminfosolution.realestate.model.Project;
 import com.ysminfosolution.realestate.model.Wing;
 import com.ysminfosolution.realestate.repository.FloorRepository;
 import com.ysminfosolution.realestate.service.FlatService;
 import com.ysminfosolution.realestate.service.FloorService;
+import com.ysminfosolution.realestate.service.OutboxService;
+import com.ysminfosolution.realestate.service.PropertyOptionsCacheService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +34,8 @@ public class FloorServiceImpl implements FloorService {
 
     // * Other Services
     private final FlatService flatService;
+    private final PropertyOptionsCacheService propertyOptionsCacheService;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -56,6 +63,7 @@ public class FloorServiceImpl implements FloorService {
 
                 floorcreatedSuccessfully = flatService.createFlatsForFloor(savedFloor);
             }
+            onStructureChanged(List.of(savedWing.getProject()));
             log.info("FLOORS created successfully for Wing : " + savedWing.getWingName());
             return floorcreatedSuccessfully;
 
@@ -79,6 +87,7 @@ public class FloorServiceImpl implements FloorService {
             flatService.hardDeleteFlatsRecursiveByFloorId(floor.getFloorId());
         }
         floorRepository.deleteAll(floors);
+        onStructureChanged(floors.stream().map(Floor::getProject).toList());
         log.info("Floors deleted successfully for wingId : " + wingId);
     }
 
@@ -96,6 +105,7 @@ public class FloorServiceImpl implements FloorService {
         }
 
         floorRepository.saveAll(floors);
+        onStructureChanged(floors.stream().map(Floor::getProject).toList());
     }
 
     @Override
@@ -110,4 +120,14 @@ public class FloorServiceImpl implements FloorService {
             .collect(Collectors.toSet());
     }
 
+    private void onStructureChanged(List<Project> projects) {
+        Map<UUID, Project> distinctProjects = projects.stream()
+                .collect(Collectors.toMap(Project::getProjectId, project -> project, (p1, p2) -> p1));
+
+        for (Project project : distinctProjects.values()) {
+            propertyOptionsCacheService.evictAfterCommit(project.getProjectId());
+            outboxService.record(OutboxEvent.Type.STRUCTURE_CHANGED, project.getOrganization().getOrgId(),
+                    project.getProjectId(), project.getProjectId(), Map.of());
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.ysminfosolution.realestate.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -10,11 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 import com.ysminfosolution.realestate.dto.FollowUpNodeRequestDTO;
 import com.ysminfosolution.realestate.model.FollowUp;
 import com.ysminfosolution.realestate.model.FollowUpNode;
+import com.ysminfosolution.realestate.model.OutboxEvent;
 import com.ysminfosolution.realestate.model.User;
 import com.ysminfosolution.realestate.repository.FollowUpNodeRepository;
 import com.ysminfosolution.realestate.repository.UserRepository;
 import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.FollowUpAgendaService;
 import com.ysminfosolution.realestate.service.FollowUpNodeService;
+import com.ysminfosolution.realestate.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +31,8 @@ public class FollowUpNodeServiceImpl implements FollowUpNodeService {
 
     private final FollowUpNodeRepository followUpNodeRepository;
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final FollowUpAgendaService followUpAgendaService;
 
     @Override
     public boolean createFirstNodeForFollowUp(FollowUp followUp, AppUserDetails appUserDetails) {
@@ -50,6 +56,9 @@ public class FollowUpNodeServiceImpl implements FollowUpNodeService {
         } catch (Exception e) {
             return false;
         }
+
+        markLatestNode(followUp, followUpNode);
+        recordNodeAdded(followUp, followUpNode, appUserDetails);
         return true;
     }
 
@@ -87,7 +96,12 @@ public class FollowUpNodeServiceImpl implements FollowUpNodeService {
         followUpNode.setUser(user);
         followUpNode.setDeleted(false);
 
+        // ^ A new node does not dirty the follow-up row itself; bump it so the delta feed picks the change up
+        followUp.setUpdatedAt(LocalDateTime.now());
+
         followUpNodeRepository.save(followUpNode);
+        markLatestNode(followUp, followUpNode);
+        recordNodeAdded(followUp, followUpNode, appUserDetails);
     }
 
     @Override
@@ -104,4 +118,22 @@ public class FollowUpNodeServiceImpl implements FollowUpNodeService {
         followUpNodeRepository.saveAll(followUpNodes);
     }
 
+    // ~ The follow-up is managed here, so the pointer is flushed with the node in the same transaction
+    private void markLatestNode(FollowUp followUp, FollowUpNode followUpNode) {
+        followUp.setLastNodeId(followUpNode.getFollowUpNodeId());
+        followUp.setLastNodeAt(followUpNode.getFollowUpDateTime());
+        followUp.setLastNodeUserName(followUpNode.getUser() != null ? followUpNode.getUser().getFullName() : null);
+        if (followUpNode.getUser() != null) {
+            followUpAgendaService.recordTouched(followUp, followUpNode.getUser().getUserId());
+        }
+    }
+
+    private void recordNodeAdded(FollowUp followUp, FollowUpNode followUpNode, AppUserDetails appUserDetails) {
+        outboxService.record(OutboxEvent.Type.FOLLOW_UP_NODE_ADDED, appUserDetails.getOrgId(),
+                followUp.getEnquiry().getProject().getProjectId(), followUp.getFollowUpId(),
+                Map.of("followUpNodeId", followUpNode.getFollowUpNodeId(),
+                        "enquiryId", followUp.getEnquiry().getEnquiryId(),
+                        "followUpNextDate", followUp.getFollowUpNextDate()));
+    }
+
 }
@@ -2,30 +2,37 @@ package com.ysminfosolution.realestate.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ysminfosolution.realestate.dto.ChangeSetDTO;
+import com.ysminfosolution.realestate.dto.CursorPageDTO;
 import com.ysminfosolution.realestate.dto.FollowUpBasicInfoDTO;
 import com.ysminfosolution.realestate.dto.FollowUpNodeRequestDTO;
 import com.ysminfosolution.realestate.dto.FollowUpNodeResponseDTO;
 import com.ysminfosolution.realestate.dto.FollowUpResponseDTO;
+import com.ysminfosolution.realestate.dto.NewEnquiryDTO;
 import com.ysminfosolution.realestate.error.exception.ApiException;
 import com.ysminfosolution.realestate.error.exception.NotFoundException;
 import com.ysminfosolution.realestate.model.EmployeeUserInfo;
 import com.ysminfosolution.realestate.model.Enquiry;
 import com.ysminfosolution.realestate.model.FollowUp;
 import com.ysminfosolution.realestate.model.FollowUpNode;
+import com.ysminfosolution.realestate.model.OutboxEvent;
 import com.ysminfosolution.realestate.model.Project;
-import com.ysminfosolution.realestate.model.Task;
 import com.ysminfosolution.realestate.model.User;
 import com.ysminfosolution.realestate.repository.EmployeeUserInfoRepository;
 import com.ysminfosolution.realestate.repository.EnquiryRepository;
@@ -33,11 +40,16 @@ import com.ysminfosolution.realestate.repository.FollowUpRepository;
 import com.ysminfosolution.realestate.repository.FollowUpNodeRepository;
 import com.ysminfosolution.realestate.repository.ProjectRepository;
 import com.ysminfosolution.realestate.repository.TaskRepository;
+import com.ysminfosolution.realestate.resolver.AccessibleProjectResolver;
 import com.ysminfosolution.realestate.resolver.ProjectResolver;
 import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.FollowUpAgendaService;
 import com.ysminfosolution.realestate.service.FollowUpNodeService;
 import com.ysminfosolution.realestate.service.FollowUpService;
+import com.ysminfosolution.realestate.service.OutboxService;
 import com.ysminfosolution.realestate.service.ProjectAuthorizationService;
+import com.ysminfosolution.realestate.util.ChangeFeed;
+import com.ysminfosolution.realestate.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +60,9 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class FollowUpServiceImpl implements FollowUpService {
 
+    private static final int DEFAULT_CHANGES_PAGE_SIZE = 50;
+    private static final int MAX_CHANGES_PAGE_SIZE = 200;
+
     private final FollowUpRepository followUpRepository;
         private final FollowUpNodeRepository followUpNodeRepository;
     private final ProjectRepository projectRepository;
@@ -56,8 +71,11 @@ public class FollowUpServiceImpl implements FollowUpService {
     private final TaskRepository taskRepository;
 
     private final FollowUpNodeService followUpNodeService;
+    private final FollowUpAgendaService followUpAgendaService;
     private final ProjectAuthorizationService projectAuthorizationService;
+    private final OutboxService outboxService;
     private final ProjectResolver projectResolver;
+    private final AccessibleProjectResolver accessibleProjectResolver;
 
     @Override
     public boolean createFollowUpForEnquiry(Enquiry enquiry, AppUserDetails appUserDetails) {
@@ -80,6 +98,22 @@ public class FollowUpServiceImpl implements FollowUpService {
         return followUpNodeService.createFirstNodeForFollowUp(followUp, appUserDetails);
     }
 
+    @Override
+    public void recordRepeatEnquiry(Enquiry enquiry, NewEnquiryDTO newEnquiryDTO, AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: recordRepeatEnquiry");
+
+        FollowUp followUp = followUpRepository.findByEnquiry_EnquiryId(enquiry.getEnquiryId())
+                .orElseThrow(() -> new NotFoundException("FollowUp not found"));
+
+        String body = "Repeat enquiry via " + newEnquiryDTO.reference() + " (" + newEnquiryDTO.referenceName()
+                + ") for " + newEnquiryDTO.property() + ", budget " + newEnquiryDTO.budget();
+
+        followUpNodeService.createNodeForFollowUp(followUp,
+                new FollowUpNodeRequestDTO(followUp.getFollowUpNextDate(), body, "Repeat Enquiry"), appUserDetails);
+    }
+
     @Override
     public ResponseEntity<Set<FollowUpResponseDTO>> getAllFollowUpsForProject(UUID projectId,
             AppUserDetails appUserDetails) {
@@ -137,6 +171,38 @@ public class FollowUpServiceImpl implements FollowUpService {
         return ResponseEntity.ok(toResponseDTO(followUp, nodeDTOs));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPageDTO<FollowUpNodeResponseDTO>> getFollowUpNodePage(UUID followUpId, String cursor,
+            Integer size, AppUserDetails appUserDetails) {
+
+        log.info("\n");
+        log.info("Method: getFollowUpNodePage");
+
+        FollowUp followUp = followUpRepository.findByIdWithFetch(followUpId)
+                .orElseThrow(() -> new NotFoundException("FollowUp not found"));
+
+        Project project = projectResolver.resolve(followUp.getEnquiry().getProject().getProjectId());
+        projectAuthorizationService.checkProjectAccess(appUserDetails, project);
+
+        int pageSize = size == null ? DEFAULT_CHANGES_PAGE_SIZE : Math.max(1, Math.min(size, MAX_CHANGES_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // ^ One extra row tells us whether another page exists without a COUNT query
+        List<FollowUpNodeResponseDTO> rows = followUpNodeRepository.findTimelinePage(followUpId,
+                after == null ? null : after.at(), after == null ? null : after.id(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<FollowUpNodeResponseDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            FollowUpNodeResponseDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.followUpDateTime(), last.followUpNodeId()).encode();
+        }
+
+        return ResponseEntity.ok(new CursorPageDTO<>(items, nextCursor, hasMore));
+    }
+
     @Override
     public ResponseEntity<String> addNodeToFollowUp(UUID followUpId, FollowUpNodeRequestDTO nodeRequestDTO,
             AppUserDetails appUserDetails) {
@@ -158,11 +224,8 @@ public class FollowUpServiceImpl implements FollowUpService {
         projectAuthorizationService.checkProjectAccess(appUserDetails, project);
         followUp.setFollowUpNextDate(nodeRequestDTO.followUpNextDate());
 
-        if (followUp.getFollowUpNextDate().isBefore(LocalDate.now().plusDays(1))
-                && !taskRepository.existsByFollowUp(followUp)) {
-            Task task = new Task();
-            task.setFollowUp(followUp);
-            taskRepository.save(task);
+        if (followUp.getFollowUpNextDate().isBefore(LocalDate.now().plusDays(1))) {
+            taskRepository.insertIfAbsent(followUp.getFollowUpId(), LocalDateTime.now());
         }
 
         followUpRepository.save(followUp);
@@ -191,14 +254,18 @@ public class FollowUpServiceImpl implements FollowUpService {
         Project project = projectResolver.resolve(followUp.getEnquiry().getProject().getProjectId());
         projectAuthorizationService.checkProjectAccess(appUserDetails, project);
 
-        FollowUpNode latestNode = followUpNodeRepository
-                .findFirstByFollowUp_FollowUpIdAndIsDeletedFalseOrderByFollowUpDateTimeDesc(followUpId)
-                .orElseThrow(() -> new NotFoundException("Follow-up node not found"));
-
         FollowUpNode nodeToUpdate = followUpNodeRepository.findByFollowUpIdAndNodeId(followUpId, nodeId)
                 .orElseThrow(() -> new NotFoundException("Follow-up node not found"));
 
-        if (!latestNode.getFollowUpNodeId().equals(nodeToUpdate.getFollowUpNodeId())) {
+        // ? Follow-ups the backfill has not reached yet still resolve the latest node from the node table
+        UUID latestNodeId = followUp.getLastNodeId() != null
+                ? followUp.getLastNodeId()
+                : followUpNodeRepository
+                        .findFirstByFollowUp_FollowUpIdAndIsDeletedFalseOrderByFollowUpDateTimeDesc(followUpId)
+                        .map(FollowUpNode::getFollowUpNodeId)
+                        .orElseThrow(() -> new NotFoundException("Follow-up node not found"));
+
+        if (!latestNodeId.equals(nodeToUpdate.getFollowUpNodeId())) {
             throw new ApiException(HttpStatus.METHOD_NOT_ALLOWED,
                     "Only the latest follow-up node can be edited");
         }
@@ -211,36 +278,97 @@ public class FollowUpServiceImpl implements FollowUpService {
         }
 
         followUp.setFollowUpNextDate(nodeRequestDTO.followUpNextDate());
-        if (followUp.getFollowUpNextDate().isBefore(LocalDate.now().plusDays(1))
-                && !taskRepository.existsByFollowUp(followUp)) {
-            Task task = new Task();
-            task.setFollowUp(followUp);
-            taskRepository.save(task);
+        if (followUp.getFollowUpNextDate().isBefore(LocalDate.now().plusDays(1))) {
+            taskRepository.insertIfAbsent(followUp.getFollowUpId(), LocalDateTime.now());
         }
 
         nodeToUpdate.setBody(nodeRequestDTO.body());
         nodeToUpdate.setTag(nodeRequestDTO.tag());
 
+        // ^ Node edits do not dirty the follow-up row itself; bump it so the delta feed picks the change up
+        followUp.setUpdatedAt(LocalDateTime.now());
         followUpRepository.save(followUp);
         followUpNodeRepository.save(nodeToUpdate);
+        followUpAgendaService.recordDueDateMoved(followUp);
+        outboxService.record(OutboxEvent.Type.FOLLOW_UP_NODE_UPDATED, appUserDetails.getOrgId(),
+                project.getProjectId(), followUpId,
+                Map.of("followUpNodeId", nodeId,
+                        "enquiryId", enquiry.getEnquiryId(),
+                        "followUpNextDate", followUp.getFollowUpNextDate()));
 
         return ResponseEntity.ok("Node Updated Successfully");
     }
 
     @Override
-    public ResponseEntity<Set<FollowUpResponseDTO>> getAllFollowUps(AppUserDetails appUserDetails) {
+    @Transactional(readOnly = true)
+    public List<FollowUpResponseDTO> getFollowUpChunk(Set<UUID> projectIds, UUID afterFollowUpId, int size) {
+        List<FollowUp> followUps = followUpRepository.findChunkByProjectIds(projectIds, afterFollowUpId,
+                PageRequest.of(0, size));
+        Map<UUID, Set<FollowUpNodeResponseDTO>> nodeDTOsByFollowUpId = getNodeDTOsByFollowUpId(followUps);
+
+        return followUps.stream()
+                .map(followUp -> toResponseDTO(followUp,
+                        nodeDTOsByFollowUpId.getOrDefault(followUp.getFollowUpId(), Set.of())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ChangeSetDTO<FollowUpResponseDTO>> getFollowUpChanges(AppUserDetails appUserDetails,
+            LocalDateTime since, String cursor, Integer size) {
 
         log.info("\n");
-        log.info("Method: getAllFollowUps");
+        log.info("Method: getFollowUpChanges");
 
-        Set<Project> projects = resolveAccessibleProjects(appUserDetails);
-        Set<FollowUpResponseDTO> followUpResponseDTOs = new HashSet<>();
-
-        for (Project project : projects) {
-            followUpResponseDTOs.addAll(getFollowUpsForProject(project.getProjectId()));
+        int pageSize = size == null ? DEFAULT_CHANGES_PAGE_SIZE : Math.max(1, Math.min(size, MAX_CHANGES_PAGE_SIZE));
+        KeysetCursor after = ChangeFeed.resume(cursor, since);
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectIds.isEmpty()) {
+            return ResponseEntity.ok(new ChangeSetDTO<>(List.of(), List.of(), projectIds, after.encode(), false));
         }
 
-        return ResponseEntity.ok(followUpResponseDTOs);
+        List<FollowUpRepository.ChangedRow> rows = followUpRepository.findChangedFollowUps(projectIds, after.at(),
+                after.id(), ChangeFeed.settledBefore(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<FollowUpRepository.ChangedRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<UUID> changedIds = page.stream()
+                .filter(row -> !Boolean.TRUE.equals(row.getDeleted()))
+                .map(FollowUpRepository.ChangedRow::getId)
+                .toList();
+        List<UUID> deletedIds = page.stream()
+                .filter(row -> Boolean.TRUE.equals(row.getDeleted()))
+                .map(FollowUpRepository.ChangedRow::getId)
+                .toList();
+
+        Map<UUID, FollowUpResponseDTO> dtoById = changedIds.isEmpty()
+                ? Map.of()
+                : toResponseDTOs(followUpRepository.findAllByIdsWithFetch(changedIds)).stream()
+                        .collect(Collectors.toMap(FollowUpResponseDTO::followUpId, dto -> dto));
+        List<FollowUpResponseDTO> changed = changedIds.stream()
+                .map(dtoById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // ~ The cursor is returned even on the last page, it is the client's token for the next sync
+        KeysetCursor next = page.isEmpty()
+                ? after
+                : new KeysetCursor(page.get(page.size() - 1).getUpdatedAt(), page.get(page.size() - 1).getId());
+
+        return ResponseEntity.ok(new ChangeSetDTO<>(changed, deletedIds, projectIds, next.encode(), hasMore));
+    }
+
+    @Override
+    public void markChangedForEnquiry(UUID enquiryId) {
+        followUpRepository.touchByEnquiryId(enquiryId, LocalDateTime.now());
+    }
+
+    @Override
+    public void markChangedForEnquiries(Collection<UUID> enquiryIds) {
+        if (!enquiryIds.isEmpty()) {
+            followUpRepository.touchByEnquiryIds(enquiryIds, LocalDateTime.now());
+        }
     }
 
     @Override
@@ -250,60 +378,65 @@ public class FollowUpServiceImpl implements FollowUpService {
         log.info("\n");
         log.info("Method: getAllRemainingFollowUpsWithinRange");
 
-        Set<Project> projects = resolveAccessibleProjects(appUserDetails);
-        Set<FollowUp> followUps = new HashSet<>();
-
-        if (from == null && to != null) {
-            followUps.addAll(followUpRepository.findAllByProjectsWithFetch(projects)
-                    .stream()
-                    .filter(f -> !f.getFollowUpNextDate().isAfter(to))
-                    .toList());
-        } else if (to == null && from != null) {
-            followUps.addAll(followUpRepository.findAllByProjectsWithFetch(projects)
-                    .stream()
-                    .filter(f -> !f.getFollowUpNextDate().isBefore(from))
-                    .toList());
-        } else if (from == null) {
-            followUps.addAll(taskRepository.findAllByProjectsWithFetch(projects).stream()
-                    .map(Task::getFollowUp)
-                    .toList());
-        } else {
-            followUps.addAll(followUpRepository.findAllByProjectsWithFetch(projects)
-                    .stream()
-                    .filter(f -> !f.getFollowUpNextDate().isAfter(to) && !f.getFollowUpNextDate().isBefore(from))
-                    .toList());
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectIds.isEmpty()) {
+            return ResponseEntity.ok(Set.of());
         }
 
-        Set<UUID> followUpIds = followUps.stream()
-                .map(FollowUp::getFollowUpId)
-                .collect(Collectors.toSet());
-        Set<FollowUpNode> allFollowUpNodes = followUpIds.isEmpty()
-                ? Set.of()
-                : followUpNodeService.getAllByFollowUpIds(followUpIds);
+        return ResponseEntity.ok(followUpRepository
+                .findTaskRows(projectIds, from, to, from == null && to == null, null, null, Pageable.unpaged())
+                .stream()
+                .map(this::toBasicInfoDTO)
+                .collect(Collectors.toSet()));
+    }
 
-        Map<UUID, FollowUpNode> latestNodeByFollowUpId = allFollowUpNodes.stream()
-                .collect(Collectors.groupingBy(
-                        node -> node.getFollowUp().getFollowUpId(),
-                        Collectors.collectingAndThen(Collectors.toList(), nodes -> nodes.stream()
-                                .sorted(Comparator.comparing(FollowUpNode::getFollowUpDateTime).reversed())
-                                .findFirst()
-                                .orElse(null))));
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPageDTO<FollowUpBasicInfoDTO>> getRemainingFollowUpPage(AppUserDetails appUserDetails,
+            LocalDate from, LocalDate to, String cursor, Integer size) {
 
-        Set<FollowUpBasicInfoDTO> basicInfoDTOs = new HashSet<>();
-        for (FollowUp followUp : followUps) {
-            FollowUpNode latestNode = latestNodeByFollowUpId.get(followUp.getFollowUpId());
-            Enquiry enquiry = followUp.getEnquiry();
-
-            basicInfoDTOs.add(new FollowUpBasicInfoDTO(
-                    followUp.getFollowUpId(),
-                    enquiry.getLeadName(),
-                    enquiry.getLeadMobileNumber(),
-                    followUp.getFollowUpNextDate(),
-                    latestNode != null ? latestNode.getUser().getFullName() : null,
-                    followUp.getDescription()));
+        log.info("\n");
+        log.info("Method: getRemainingFollowUpPage");
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "fromDate must not be after toDate");
+        }
+
+        int pageSize = size == null ? DEFAULT_CHANGES_PAGE_SIZE : Math.max(1, Math.min(size, MAX_CHANGES_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Set<UUID> projectIds = accessibleProjectResolver.resolveIds(appUserDetails);
+        if (projectIds.isEmpty()) {
+            return ResponseEntity.ok(new CursorPageDTO<>(List.of(), null, false));
+        }
+
+        // ^ One extra row tells us whether another page exists without a COUNT query
+        List<FollowUpBasicInfoDTO> rows = followUpRepository
+                .findTaskRows(projectIds, from, to, from == null && to == null,
+                        after == null ? null : after.at().toLocalDate(), after == null ? null : after.id(),
+                        PageRequest.of(0, pageSize + 1))
+                .stream()
+                .map(this::toBasicInfoDTO)
+                .toList();
+
+        boolean hasMore = rows.size() > pageSize;
+        List<FollowUpBasicInfoDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            FollowUpBasicInfoDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.followUpNextDate().atStartOfDay(), last.followUpId()).encode();
         }
 
-        return ResponseEntity.ok(basicInfoDTOs);
+        return ResponseEntity.ok(new CursorPageDTO<>(items, nextCursor, hasMore));
+    }
+
+    private FollowUpBasicInfoDTO toBasicInfoDTO(FollowUpRepository.TaskRow row) {
+        return new FollowUpBasicInfoDTO(
+                row.getFollowUpId(),
+                row.getLeadName(),
+                row.getLeadMobileNumber(),
+                row.getFollowUpNextDate(),
+                row.getAgentName(),
+                row.getDescription());
     }
 
     private Set<Project> resolveAccessibleProjects(AppUserDetails appUserDetails) {
@@ -321,7 +454,22 @@ public class FollowUpServiceImpl implements FollowUpService {
     }
 
     private Set<FollowUpResponseDTO> getFollowUpsForProject(UUID projectId) {
-        Set<FollowUp> followUps = followUpRepository.findAllByProjectIdWithFetch(projectId);
+        return toResponseDTOs(followUpRepository.findAllByProjectIdWithFetch(projectId));
+    }
+
+    private Set<FollowUpResponseDTO> toResponseDTOs(Set<FollowUp> followUps) {
+        Map<UUID, Set<FollowUpNodeResponseDTO>> nodeDTOsByFollowUpId = getNodeDTOsByFollowUpId(followUps);
+
+        Set<FollowUpResponseDTO> followUpResponseDTOs = new HashSet<>();
+        for (FollowUp followUp : followUps) {
+            followUpResponseDTOs.add(toResponseDTO(
+                    followUp,
+                    nodeDTOsByFollowUpId.getOrDefault(followUp.getFollowUpId(), Set.of())));
+        }
+        return followUpResponseDTOs;
+    }
+
+    private Map<UUID, Set<FollowUpNodeResponseDTO>> getNodeDTOsByFollowUpId(Collection<FollowUp> followUps) {
         Set<UUID> followUpIds = followUps.stream()
                 .map(FollowUp::getFollowUpId)
                 .collect(Collectors.toSet());
@@ -330,18 +478,10 @@ public class FollowUpServiceImpl implements FollowUpService {
                 ? Set.of()
                 : followUpNodeService.getAllByFollowUpIds(followUpIds);
 
-        Map<UUID, Set<FollowUpNodeResponseDTO>> nodeDTOsByFollowUpId = allFollowUpNodes.stream()
+        return allFollowUpNodes.stream()
                 .collect(Collectors.groupingBy(
                         node -> node.getFollowUp().getFollowUpId(),
                         Collectors.collectingAndThen(Collectors.toSet(), this::mapNodeResponseDTOs)));
-
-        Set<FollowUpResponseDTO> followUpResponseDTOs = new HashSet<>();
-        for (FollowUp followUp : followUps) {
-            followUpResponseDTOs.add(toResponseDTO(
-                    followUp,
-                    nodeDTOsByFollowUpId.getOrDefault(followUp.getFollowUpId(), Set.of())));
-        }
-        return followUpResponseDTOs;
     }
 
     private Set<FollowUpNodeResponseDTO> mapNodeResponseDTOs(Set<FollowUpNode> followUpNodes) {
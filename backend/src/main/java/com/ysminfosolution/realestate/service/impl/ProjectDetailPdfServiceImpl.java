@@ -16,9 +16,11 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ysminfosolution.realestate.dto.BackgroundJobDTO;
 import com.ysminfosolution.realestate.dto.ProjectDetailPdfView;
 import com.ysminfosolution.realestate.error.exception.NotFoundException;
 import com.ysminfosolution.realestate.model.Amenity;
+import com.ysminfosolution.realestate.model.BackgroundJob;
 import com.ysminfosolution.realestate.model.BankProjectInfo;
 import com.ysminfosolution.realestate.model.Disbursement;
 import com.ysminfosolution.realestate.model.Document;
@@ -32,9 +34,11 @@ import com.ysminfosolution.realestate.repository.BankProjectInfoRepository;
 import com.ysminfosolution.realestate.repository.DisbursementRepository;
 import com.ysminfosolution.realestate.repository.DocumentRepository;
 import com.ysminfosolution.realestate.repository.ProjectDetailPdfPolicyRepository;
+import com.ysminfosolution.realestate.repository.ProjectRepository;
 import com.ysminfosolution.realestate.repository.WingRepository;
 import com.ysminfosolution.realestate.resolver.ProjectResolver;
 import com.ysminfosolution.realestate.security.AppUserDetails;
+import com.ysminfosolution.realestate.service.BackgroundJobService;
 import com.ysminfosolution.realestate.service.HtmlProjectPdfRenderer;
 import com.ysminfosolution.realestate.service.ProjectAuthorizationService;
 import com.ysminfosolution.realestate.service.ProjectDetailPdfService;
@@ -54,6 +58,7 @@ public class ProjectDetailPdfServiceImpl implements ProjectDetailPdfService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
 
     private final ProjectResolver projectResolver;
+    private final ProjectRepository projectRepository;
     private final ProjectAuthorizationService projectAuthorizationService;
 
     private final WingRepository wingRepository;
@@ -66,6 +71,7 @@ public class ProjectDetailPdfServiceImpl implements ProjectDetailPdfService {
     private final HtmlProjectPdfRenderer htmlProjectPdfRenderer;
     private final ProjectPdfRenderer projectPdfRenderer;
     private final S3StorageService s3StorageService;
+    private final BackgroundJobService backgroundJobService;
 
     @Override
     @Transactional
@@ -77,6 +83,44 @@ public class ProjectDetailPdfServiceImpl implements ProjectDetailPdfService {
         Project project = projectResolver.resolve(projectId);
         projectAuthorizationService.checkProjectAccess(user, project);
 
+        return render(project, policyId, user.getUserId());
+    }
+
+    @Override
+    @Transactional
+    public BackgroundJobDTO requestProjectDetailPdf(UUID projectId, UUID policyId, AppUserDetails user) {
+        if (user == null) {
+            throw new IllegalArgumentException("Authenticated user is required");
+        }
+
+        Project project = projectResolver.resolve(projectId);
+        projectAuthorizationService.checkProjectAccess(user, project);
+
+        if (projectDetailPdfPolicyRepository.findByProjectDetailPdfPolicyIdAndProject_ProjectId(policyId, projectId)
+                .isEmpty()) {
+            throw new NotFoundException("Project detail PDF policy not found for id: " + policyId);
+        }
+
+        BackgroundJob job = backgroundJobService.enqueue(BackgroundJob.Type.PROJECT_DETAIL_PDF, user.getOrgId(),
+                user.getUserId(), Map.of("projectId", projectId.toString(), "policyId", policyId.toString()));
+        return backgroundJobService.toDTO(job);
+    }
+
+    @Override
+    @Transactional
+    public byte[] renderProjectDetailPdf(UUID projectId, UUID policyId, String requestedBy) {
+        // ! Runs on a worker thread: ProjectResolver caches in the request-scoped ProjectContext, which does not
+        // ! exist there, so the project is loaded directly
+        Project project = projectRepository.findWithOrganizationByProjectId(projectId)
+                .filter(p -> !p.isDeleted())
+                .orElseThrow(() -> new NotFoundException("Project not found for id: " + projectId));
+
+        return render(project, policyId, requestedBy);
+    }
+
+    private byte[] render(Project project, UUID policyId, String requestedBy) {
+        UUID projectId = project.getProjectId();
+
         ProjectDetailPdfPolicy policy = projectDetailPdfPolicyRepository
                 .findByProjectDetailPdfPolicyIdAndProject_ProjectId(policyId, projectId)
                 .orElseThrow(() -> new NotFoundException("Project detail PDF policy not found for id: " + policyId));
@@ -95,7 +139,7 @@ public class ProjectDetailPdfServiceImpl implements ProjectDetailPdfService {
                 policyId,
                 policy.isIncludeDocuments(),
                 requestedDocumentIds.size(),
-                user.getUserId());
+                requestedBy);
 
         Set<Wing> wings = requiresStructure(policy)
                 ? wingRepository.fetchFullStructureByProjectId(projectId)
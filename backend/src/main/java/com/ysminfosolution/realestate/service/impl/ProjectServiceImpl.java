@@ -1,8 +1,10 @@
 package com.ysminfosolution.realestate.service.impl;
 
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
@@ -25,6 +27,8 @@ import com.ysminfosolution.realestate.dto.maincreationformdtos.ProjectCreationDT
 import com.ysminfosolution.realestate.error.exception.ApiException;
 import com.ysminfosolution.realestate.error.exception.ConflictException;
 import com.ysminfosolution.realestate.error.exception.NotFoundException;
+import com.ysminfosolution.realestate.model.BackgroundJob;
+import com.ysminfosolution.realestate.model.DataVersion;
 import com.ysminfosolution.realestate.model.EmployeeUserInfo;
 import com.ysminfosolution.realestate.model.Enquiry;
 import com.ysminfosolution.realestate.model.Flat;
@@ -35,16 +39,18 @@ import com.ysminfosolution.realestate.model.Organization;
 import com.ysminfosolution.realestate.model.Wing;
 import com.ysminfosolution.realestate.model.Project.Status;
 import com.ysminfosolution.realestate.repository.EmployeeUserInfoRepository;
-import com.ysminfosolution.realestate.repository.EnquiryRepository;
 import com.ysminfosolution.realestate.repository.FlatRepository;
 import com.ysminfosolution.realestate.repository.OrganizationRepository;
 import com.ysminfosolution.realestate.repository.ProjectRepository;
 import com.ysminfosolution.realestate.resolver.ProjectResolver;
 import com.ysminfosolution.realestate.security.AppUserDetails;
 import com.ysminfosolution.realestate.service.AmenityService;
+import com.ysminfosolution.realestate.service.BackgroundJobService;
 import com.ysminfosolution.realestate.service.BankProjectInfoService;
+import com.ysminfosolution.realestate.service.DataVersionService;
 import com.ysminfosolution.realestate.service.DisbursementService;
 import com.ysminfosolution.realestate.service.DocumentService;
+import com.ysminfosolution.realestate.service.EnquiryStatusCountService;
 import com.ysminfosolution.realestate.service.ProjectAuthorizationService;
 import com.ysminfosolution.realestate.service.ProjectService;
 import com.ysminfosolution.realestate.service.S3StorageService;
@@ -63,7 +69,6 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectRepository projectRepository;
     private final OrganizationRepository organizationRepository;
     private final EmployeeUserInfoRepository employeeUserInfoRepository;
-    private final EnquiryRepository enquiryRepository;
     private final FlatRepository flatRepository;
 
     // * All the other services used
@@ -73,10 +78,13 @@ public class ProjectServiceImpl implements ProjectService {
     private final DocumentService documentService;
     private final DisbursementService disbursementService;
     private final ProjectAuthorizationService projectAuthorizationService;
+    private final EnquiryStatusCountService enquiryStatusCountService;
+    private final DataVersionService dataVersionService;
 
     private final ProjectResolver projectResolver;
 
     private final S3StorageService s3StorageService;
+    private final BackgroundJobService backgroundJobService;
 
     public Organization getOrganizationById(UUID orgId) {
         return organizationRepository.findById(orgId)
@@ -190,7 +198,11 @@ public class ProjectServiceImpl implements ProjectService {
         log.info("\n");
         log.info("Method: deleteProjectDirectoryFromS3");
 
-        s3StorageService.deleteProjectDirectoryFromS3(project, appUserDetails);
+        // ! Queued detached: this runs while the creation is being rolled back, and the uploaded files must
+        // ! still be removed. The S3 calls themselves happen on a background worker, not on the request thread
+        String prefix = s3StorageService.projectDirectoryPrefix(appUserDetails.getOrgId(), project.getProjectName());
+        backgroundJobService.enqueueDetached(BackgroundJob.Type.PROJECT_DIRECTORY_CLEANUP, appUserDetails.getOrgId(),
+                appUserDetails.getUserId(), Map.of("prefix", prefix, "projectId", project.getProjectId().toString()));
     }
 
     @Override
@@ -234,6 +246,9 @@ public class ProjectServiceImpl implements ProjectService {
         project.setCompletionDate(incomingProject.getCompletionDate());
         project.setMahareraNo(incomingProject.getMahareraNo());
 
+        // ^ Project name/status appear in every list response
+        dataVersionService.bump(List.of(projectId), EnumSet.allOf(DataVersion.Scope.class));
+
         return ResponseEntity.ok(projectRepository.save(project));
     }
 
@@ -246,6 +261,10 @@ public class ProjectServiceImpl implements ProjectService {
 
         Project project = projectResolver.resolve(projectId);
 
+        // ? Kept in the request rather than queued as a background job: these are soft deletes (flag updates
+        // ? only, no S3 calls), the project must disappear from every list in the same commit, and the sibling
+        // ? services resolve the project through the request-scoped ProjectContext and the caller's access
+        // ? checks, neither of which exists on a worker thread
         wingService.deleteWingsRecursiveByProjectId(projectId);
         bankProjectInfoService.deleteBankProjectInfosByProjectId(projectId, appUserDetails);
         amenityService.deleteAmenitiesByProjectId(projectId);
@@ -270,18 +289,14 @@ public class ProjectServiceImpl implements ProjectService {
 
         projectAuthorizationService.checkProjectAccess(appUserDetails, project);
 
-        Set<Enquiry> projectEnquiries = enquiryRepository
-                .findAllByProject_ProjectIdAndIsDeletedFalse(project.getProjectId());
+        EnquiryStatusCountService.StatusCounts enquiryCounts = enquiryStatusCountService
+                .getCounts(project.getProjectId());
 
         long projectTotalProperties = flatRepository.countByProject_ProjectIdAndIsDeletedFalse(project.getProjectId());
 
-        long projectBooked = projectEnquiries.stream()
-                .filter(e -> e.getStatus() == Enquiry.Status.BOOKED)
-                .count();
+        long projectBooked = enquiryCounts.of(Enquiry.Status.BOOKED);
 
-        int projectCancelled = (int) projectEnquiries.stream()
-                .filter(e -> e.getStatus() == Enquiry.Status.CANCELLED)
-                .count();
+        int projectCancelled = (int) enquiryCounts.of(Enquiry.Status.CANCELLED);
 
         int projectAvailable = (int) (projectTotalProperties - projectBooked);
 
@@ -291,7 +306,7 @@ public class ProjectServiceImpl implements ProjectService {
                 projectTotalProperties,
                 projectBooked,
                 projectAvailable,
-                projectEnquiries.size(),
+                (int) enquiryCounts.total(),
                 projectCancelled,
                 project.getStartDate(),
                 project.getCompletionDate(),
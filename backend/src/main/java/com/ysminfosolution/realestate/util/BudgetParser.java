@@ -0,0 +1,119 @@
+package com.ysminfosolution.realestate.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Turns free-form budgets ("50L", "45-60 lakh", "80L - 1.2 Cr", "upto 75 lacs", "above 1cr", "₹ 45,00,000")
+// into a rupee range. Returns null when the text cannot be read; callers keep the original string either way.
+public final class BudgetParser {
+
+    // ^ An open upper end ("above 1cr") leaves max null. An open lower end ("upto 75L") sets min to 0, not null:
+    // ^ a null budget_min means "not parsed" to the backfill and the budget filters
+    public record BudgetRange(Long min, Long max) {
+    }
+
+    private static final long THOUSAND = 1_000L;
+    private static final long LAKH = 100_000L;
+    private static final long CRORE = 10_000_000L;
+
+    // ^ Bare numbers this small are shorthand for lakhs ("50-80"), anything bigger is already in rupees
+    private static final int BARE_LAKH_LIMIT = 1_000;
+
+    // ^ A bare number followed by another word ("2 BHK") is not an amount, unless the word joins a range or
+    // ^ qualifies it ("50 to 80 lakh", "5000000 only"); skipping whitespace in the lookahead keeps \s* from
+    // ^ backtracking past the word
+    private static final Pattern AMOUNT = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)(?:\\s*(crores?|cr|lakhs?|lacs?|lk|l|thousand|k)(?![a-z])"
+                    + "|(?!\\s*(?!(?:to|and|or|only|onwards)\\b)[a-z]))");
+    private static final Pattern UPPER_ONLY = Pattern.compile("^(upto|up to|under|below|max|maximum|less than|within)\\b");
+    private static final Pattern LOWER_ONLY = Pattern.compile("^(above|over|min|minimum|more than|starting|from)\\b|\\+$");
+
+    private BudgetParser() {
+    }
+
+    public static BudgetRange parse(String budget) {
+        if (budget == null) {
+            return null;
+        }
+
+        String text = budget.toLowerCase(Locale.ROOT)
+                .replace("\u20B9", " ")
+                .replace("/-", " ")
+                .replaceAll("\\b(rs|inr)\\.?", " ")
+                .replaceAll("(?<=\\d),(?=\\d)", "")
+                .replaceAll("\\s+", " ")
+                .trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        List<String[]> amounts = new ArrayList<>();
+        Matcher matcher = AMOUNT.matcher(text);
+        while (matcher.find()) {
+            amounts.add(new String[] { matcher.group(1), matcher.group(2) });
+        }
+
+        if (amounts.size() == 1) {
+            Long value = toRupees(amounts.get(0)[0], amounts.get(0)[1]);
+            if (value == null) {
+                return null;
+            }
+            if (UPPER_ONLY.matcher(text).find()) {
+                return new BudgetRange(0L, value);
+            }
+            if (LOWER_ONLY.matcher(text).find()) {
+                return new BudgetRange(value, null);
+            }
+            return new BudgetRange(value, value);
+        }
+
+        if (amounts.size() == 2) {
+            // ~ "50-80L": the unit written once applies to both ends
+            String lowerUnit = amounts.get(0)[1] == null ? amounts.get(1)[1] : amounts.get(0)[1];
+            Long low = toRupees(amounts.get(0)[0], lowerUnit);
+            Long high = toRupees(amounts.get(1)[0], amounts.get(1)[1]);
+            if (low == null || high == null) {
+                return null;
+            }
+            return new BudgetRange(Math.min(low, high), Math.max(low, high));
+        }
+
+        return null;
+    }
+
+    // Single amount for filters, e.g. a budgetFrom of "50L" or "5000000"
+    public static Long parseAmount(String amount) {
+        BudgetRange range = parse(amount);
+        if (range == null || range.min() == null || !range.min().equals(range.max())) {
+            return null;
+        }
+        return range.min();
+    }
+
+    private static Long toRupees(String number, String unit) {
+        BigDecimal value;
+        try {
+            value = new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        long multiplier;
+        if (unit == null) {
+            multiplier = value.compareTo(BigDecimal.valueOf(BARE_LAKH_LIMIT)) < 0 ? LAKH : 1L;
+        } else if (unit.startsWith("cr")) {
+            multiplier = CRORE;
+        } else if (unit.startsWith("l")) {
+            multiplier = LAKH;
+        } else {
+            multiplier = THOUSAND;
+        }
+
+        BigDecimal rupees = value.multiply(BigDecimal.valueOf(multiplier));
+        return rupees.signum() <= 0 ? null : rupees.longValue();
+    }
+}
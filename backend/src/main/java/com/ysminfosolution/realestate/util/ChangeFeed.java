@@ -0,0 +1,32 @@
+package com.ysminfosolution.realestate.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Shared rules of the "/changes" delta sync endpoints, which walk rows in (updatedAt, id) order.
+public final class ChangeFeed {
+
+    // ^ A row stamped by a transaction that has not committed yet would be skipped for good once
+    // ^ the cursor moved past its updatedAt, so only rows older than this lag are handed out
+    private static final Duration SETTLE_LAG = Duration.ofSeconds(5);
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ChangeFeed() {
+    }
+
+    // A cursor from a previous sync wins; otherwise start right after "since", or from scratch for a full sync
+    public static KeysetCursor resume(String cursor, LocalDateTime since) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null) {
+            return after;
+        }
+        return new KeysetCursor(since == null ? BEGINNING : since, LOWEST_ID);
+    }
+
+    public static LocalDateTime settledBefore() {
+        return LocalDateTime.now().minus(SETTLE_LAG);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ysminfosolution.realestate.util;
+
+import java.util.Locale;
+
+// Normalized lead identity used for duplicate detection.
+// Must stay in sync with the SQL expressions in EnquiryRepository.fillLeadFingerprints.
+public final class LeadFingerprint {
+
+    private static final int MOBILE_DIGITS = 10;
+
+    private LeadFingerprint() {
+    }
+
+    // "+91 98765-43210" and "09876543210" both become "9876543210"
+    public static String mobile(String mobileNumber) {
+        if (mobileNumber == null) {
+            return null;
+        }
+        String digits = mobileNumber.replaceAll("\\D", "");
+        if (digits.isEmpty()) {
+            return null;
+        }
+        return digits.length() > MOBILE_DIGITS ? digits.substring(digits.length() - MOBILE_DIGITS) : digits;
+    }
+
+    public static String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = email.replaceAll("\\s", "").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
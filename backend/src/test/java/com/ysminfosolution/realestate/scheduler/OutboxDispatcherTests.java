@@ -0,0 +1,134 @@
+package com.ysminfosolution.realestate.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.ysminfosolution.realestate.model.OutboxEvent;
+import com.ysminfosolution.realestate.repository.OutboxDeliveryRepository;
+import com.ysminfosolution.realestate.repository.OutboxEventRepository;
+import com.ysminfosolution.realestate.service.OutboxEventSubscriber;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTests {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+	@Mock
+	private OutboxDeliveryRepository outboxDeliveryRepository;
+	@Mock
+	private ObjectProvider<OutboxEventSubscriber> subscribers;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	// ~ Stands in for the outbox_delivery table
+	private final Set<String> deliveries = new HashSet<>();
+
+	private OutboxDispatcher dispatcher;
+	private OutboxEvent event;
+
+	@BeforeEach
+	void setUp() {
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		when(outboxDeliveryRepository.markDelivered(anyLong(), anyString())).thenAnswer(invocation -> {
+			deliveries.add(invocation.getArgument(0) + "/" + invocation.getArgument(1));
+			return 1;
+		});
+
+		event = new OutboxEvent();
+		event.setId(1L);
+		event.setEventType(OutboxEvent.Type.ENQUIRY_UPDATED);
+		event.setOrgId(UUID.randomUUID());
+		event.setAggregateId(UUID.randomUUID());
+		when(outboxEventRepository.claimPendingBatch(any(Integer.class))).thenAnswer(invocation -> event
+				.getProcessedAt() == null ? List.of(event) : List.of());
+
+		dispatcher = new OutboxDispatcher(outboxEventRepository, outboxDeliveryRepository, subscribers,
+				transactionManager);
+	}
+
+	@Test
+	void retryOnlyReachesSubscribersThatHaveNotHandledTheEvent() {
+		RecordingSubscriber cache = new RecordingSubscriber("cache", 0);
+		RecordingSubscriber index = new RecordingSubscriber("index", 1);
+		when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(cache, index));
+		when(outboxDeliveryRepository.findSubscribersByEventId(1L)).thenAnswer(invocation -> deliveries.stream()
+				.filter(delivery -> delivery.startsWith("1/"))
+				.map(delivery -> delivery.substring(2))
+				.toList());
+
+		dispatcher.dispatchPendingEvents();
+
+		assertNull(event.getProcessedAt());
+		assertEquals(1, event.getAttempts());
+		assertEquals(1, cache.received.size());
+		assertEquals(Set.of("1/cache"), deliveries);
+
+		dispatcher.dispatchPendingEvents();
+
+		assertNotNull(event.getProcessedAt());
+		assertEquals(1, cache.received.size());
+		assertEquals(1, index.received.size());
+		assertEquals(Set.of("1/cache", "1/index"), deliveries);
+	}
+
+	@Test
+	void firstAttemptDoesNotLookUpDeliveries() {
+		RecordingSubscriber cache = new RecordingSubscriber("cache", 0);
+		when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(cache));
+
+		dispatcher.dispatchPendingEvents();
+
+		assertNotNull(event.getProcessedAt());
+		assertEquals(1, cache.received.size());
+		verify(outboxDeliveryRepository, never()).findSubscribersByEventId(any());
+	}
+
+	private static final class RecordingSubscriber implements OutboxEventSubscriber {
+
+		private final String name;
+		private int failuresLeft;
+		private final List<Long> received = new ArrayList<>();
+
+		RecordingSubscriber(String name, int failuresLeft) {
+			this.name = name;
+			this.failuresLeft = failuresLeft;
+		}
+
+		@Override
+		public String subscriberName() {
+			return name;
+		}
+
+		@Override
+		public void onEvent(OutboxEvent event) {
+			if (failuresLeft > 0) {
+				failuresLeft--;
+				throw new IllegalStateException("subscriber " + name + " unavailable");
+			}
+			received.add(event.getId());
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.ysminfosolution.realestate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ysminfosolution.realestate.model.Enquiry;
+import com.ysminfosolution.realestate.model.Enquiry.Status;
+import com.ysminfosolution.realestate.model.Project;
+import com.ysminfosolution.realestate.repository.EnquiryFunnelRepository;
+import com.ysminfosolution.realestate.repository.EnquiryStatusTransitionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EnquiryAnalyticsServiceTests {
+
+	@Mock
+	private EnquiryStatusTransitionRepository transitionRepository;
+	@Mock
+	private EnquiryFunnelRepository funnelRepository;
+
+	@InjectMocks
+	private EnquiryAnalyticsService enquiryAnalyticsService;
+
+	// ~ Stand in for the created_count and cohort_count columns, keyed by "reference/status"
+	private final Map<String, Long> created = new HashMap<>();
+	private final Map<String, Long> cohort = new HashMap<>();
+
+	private Enquiry enquiry;
+
+	@BeforeEach
+	void setUp() {
+		lenient().doAnswer(invocation -> {
+			created.merge(invocation.getArgument(2) + "/" + invocation.getArgument(3), invocation.getArgument(4),
+					Long::sum);
+			return null;
+		}).when(funnelRepository).adjustFunnel(any(), any(LocalDate.class), anyString(), anyString(), anyLong(),
+				anyLong(), anyLong());
+		lenient().doAnswer(invocation -> {
+			cohort.merge(invocation.getArgument(2) + "/" + invocation.getArgument(3), invocation.getArgument(4),
+					Long::sum);
+			return null;
+		}).when(funnelRepository).adjustCohort(any(), any(LocalDate.class), anyString(), anyString(), anyLong());
+
+		Project project = new Project();
+		project.setProjectId(UUID.randomUUID());
+
+		enquiry = new Enquiry();
+		enquiry.setEnquiryId(UUID.randomUUID());
+		enquiry.setProject(project);
+		enquiry.setReference("Walk-in");
+		enquiry.setStatus(Status.ONGOING);
+		enquiry.setCreatedAt(LocalDateTime.now());
+	}
+
+	@Test
+	void referenceChangeBeforeTransitionKeepsBothCohortsConsistent() {
+		enquiryAnalyticsService.recordCreated(enquiry);
+		when(transitionRepository.existsByEnquiryIdAndFromStatusIsNull(enquiry.getEnquiryId())).thenReturn(true);
+
+		// ~ Same order as updateEnquiry: reference first, then the status change
+		enquiryAnalyticsService.recordReferenceChange(enquiry, "Website");
+		enquiry.setReference("Website");
+		enquiryAnalyticsService.recordTransition(enquiry, Status.ONGOING, Status.BOOKED);
+
+		assertEquals(0L, cohort.get("Walk-in/ONGOING"));
+		assertEquals(0L, cohort.get("Website/ONGOING"));
+		assertEquals(1L, cohort.get("Website/BOOKED"));
+		assertEquals(0L, created.get("Walk-in/ONGOING"));
+		assertEquals(1L, created.get("Website/ONGOING"));
+		assertTrue(cohort.values().stream().allMatch(count -> count >= 0));
+	}
+
+	@Test
+	void referenceChangeOfAnUncountedEnquiryLeavesTheRollupsAlone() {
+		when(transitionRepository.existsByEnquiryIdAndFromStatusIsNull(enquiry.getEnquiryId())).thenReturn(false);
+
+		enquiryAnalyticsService.recordReferenceChange(enquiry, "Website");
+
+		assertTrue(created.isEmpty());
+		assertTrue(cohort.isEmpty());
+	}
+}
@@ -0,0 +1,137 @@
+package com.ysminfosolution.realestate.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.ysminfosolution.realestate.error.exception.NotFoundException;
+import com.ysminfosolution.realestate.model.BackgroundJob;
+import com.ysminfosolution.realestate.model.Project;
+import com.ysminfosolution.realestate.model.ProjectDetailPdfPolicy;
+import com.ysminfosolution.realestate.repository.AmenityRepository;
+import com.ysminfosolution.realestate.repository.BankProjectInfoRepository;
+import com.ysminfosolution.realestate.repository.DisbursementRepository;
+import com.ysminfosolution.realestate.repository.DocumentRepository;
+import com.ysminfosolution.realestate.repository.ProjectDetailPdfPolicyRepository;
+import com.ysminfosolution.realestate.repository.ProjectRepository;
+import com.ysminfosolution.realestate.repository.WingRepository;
+import com.ysminfosolution.realestate.resolver.ProjectResolver;
+import com.ysminfosolution.realestate.service.impl.ProjectDetailPdfServiceImpl;
+
+// ^ The handler runs on a background worker thread, where no request (and so no request-scoped bean) exists
+@ExtendWith(MockitoExtension.class)
+class ProjectDetailPdfJobHandlerTests {
+
+	private static final UUID ORG_ID = UUID.randomUUID();
+	private static final UUID PROJECT_ID = UUID.randomUUID();
+	private static final UUID POLICY_ID = UUID.randomUUID();
+	private static final byte[] PDF = { 1, 2, 3 };
+
+	@Mock
+	private ProjectResolver projectResolver;
+	@Mock
+	private ProjectRepository projectRepository;
+	@Mock
+	private ProjectAuthorizationService projectAuthorizationService;
+	@Mock
+	private WingRepository wingRepository;
+	@Mock
+	private AmenityRepository amenityRepository;
+	@Mock
+	private BankProjectInfoRepository bankProjectInfoRepository;
+	@Mock
+	private DisbursementRepository disbursementRepository;
+	@Mock
+	private DocumentRepository documentRepository;
+	@Mock
+	private ProjectDetailPdfPolicyRepository projectDetailPdfPolicyRepository;
+	@Mock
+	private HtmlProjectPdfRenderer htmlProjectPdfRenderer;
+	@Mock
+	private ProjectPdfRenderer projectPdfRenderer;
+	@Mock
+	private S3StorageService s3StorageService;
+	@Mock
+	private BackgroundJobService backgroundJobService;
+
+	@InjectMocks
+	private ProjectDetailPdfServiceImpl projectDetailPdfService;
+
+	private ProjectDetailPdfJobHandler handler;
+	private BackgroundJob job;
+
+	@BeforeEach
+	void setUp() {
+		// ~ Same failure the request-scoped ProjectContext proxy raises off a request thread
+		lenient().when(projectResolver.resolve(any()))
+				.thenThrow(new IllegalStateException("No thread-bound request found"));
+
+		handler = new ProjectDetailPdfJobHandler(backgroundJobService, projectDetailPdfService, s3StorageService);
+
+		job = new BackgroundJob();
+		job.setJobId(UUID.randomUUID());
+		job.setOrgId(ORG_ID);
+		job.setRequestedBy("user-1");
+		when(backgroundJobService.readPayload(job))
+				.thenReturn(Map.of("projectId", PROJECT_ID.toString(), "policyId", POLICY_ID.toString()));
+	}
+
+	@Test
+	void rendersAndUploadsWithoutABoundRequest() {
+		assertNull(RequestContextHolder.getRequestAttributes());
+
+		Project project = new Project();
+		project.setProjectId(PROJECT_ID);
+		when(projectRepository.findWithOrganizationByProjectId(PROJECT_ID)).thenReturn(Optional.of(project));
+
+		ProjectDetailPdfPolicy policy = new ProjectDetailPdfPolicy();
+		policy.setProjectDetailPdfPolicyId(POLICY_ID);
+		policy.setIncludeProjectOverview(true);
+		when(projectDetailPdfPolicyRepository.findByProjectDetailPdfPolicyIdAndProject_ProjectId(POLICY_ID, PROJECT_ID))
+				.thenReturn(Optional.of(policy));
+		when(htmlProjectPdfRenderer.renderPdf(any())).thenReturn(PDF);
+		when(s3StorageService.uploadBytes(any(), any(), eq("application/pdf"))).thenReturn("stored-key");
+
+		assertEquals("stored-key", handler.handle(job));
+
+		ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+		verify(s3StorageService).uploadBytes(key.capture(), bytes.capture(), eq("application/pdf"));
+		assertEquals(ORG_ID + "/jobs/" + job.getJobId() + "/project-detail-" + PROJECT_ID + ".pdf", key.getValue());
+		assertArrayEquals(PDF, bytes.getValue());
+		verifyNoInteractions(projectResolver);
+	}
+
+	@Test
+	void rejectsADeletedProject() {
+		Project project = new Project();
+		project.setProjectId(PROJECT_ID);
+		project.setDeleted(true);
+		when(projectRepository.findWithOrganizationByProjectId(PROJECT_ID)).thenReturn(Optional.of(project));
+
+		assertThrows(NotFoundException.class, () -> handler.handle(job));
+		verify(s3StorageService, never()).uploadBytes(any(), any(), any());
+		verifyNoInteractions(projectResolver);
+	}
+}
@@ -0,0 +1,48 @@
+package com.ysminfosolution.realestate.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.ysminfosolution.realestate.util.BudgetParser.BudgetRange;
+
+class BudgetParserTests {
+
+	@Test
+	void parsesSingleAmounts() {
+		assertEquals(new BudgetRange(5_000_000L, 5_000_000L), BudgetParser.parse("50L"));
+		assertEquals(new BudgetRange(4_500_000L, 4_500_000L), BudgetParser.parse("₹ 45,00,000"));
+	}
+
+	@Test
+	void parsesRanges() {
+		assertEquals(new BudgetRange(4_500_000L, 6_000_000L), BudgetParser.parse("45-60 lakh"));
+		assertEquals(new BudgetRange(8_000_000L, 12_000_000L), BudgetParser.parse("80L - 1.2 Cr"));
+		assertEquals(new BudgetRange(5_000_000L, 8_000_000L), BudgetParser.parse("50 to 80 lakh"));
+	}
+
+	@Test
+	void parsesOpenEndedRanges() {
+		assertEquals(new BudgetRange(0L, 7_500_000L), BudgetParser.parse("upto 75 lacs"));
+		assertEquals(new BudgetRange(10_000_000L, null), BudgetParser.parse("above 1cr"));
+	}
+
+	@Test
+	void openLowerEndIsZeroAndOpenUpperEndIsNull() {
+		BudgetRange upperOnly = BudgetParser.parse("under 50L");
+		assertEquals(0L, upperOnly.min());
+		assertEquals(5_000_000L, upperOnly.max());
+
+		BudgetRange lowerOnly = BudgetParser.parse("5 cr+");
+		assertEquals(50_000_000L, lowerOnly.min());
+		assertNull(lowerOnly.max());
+	}
+
+	@Test
+	void ignoresNumbersThatAreNotAmounts() {
+		assertEquals(new BudgetRange(5_000_000L, 5_000_000L), BudgetParser.parse("2 BHK 50L"));
+		assertNull(BudgetParser.parse("negotiable"));
+	}
+
+}